@@ -0,0 +1,18 @@
+package org.example.benchmarks;
+
+import java.time.LocalDate;
+
+import org.example.SearchClock;
+
+/**
+ * Fixed "today" shared by all benchmarks so results do not drift with the calendar
+ */
+final class BenchmarkClock {
+
+   static final LocalDate TODAY = LocalDate.of(2030, 1, 1);
+
+   static final SearchClock CLOCK = SearchClock.fixed(TODAY);
+
+   private BenchmarkClock() {
+   }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package org.example.benchmarks;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.example.DateParser;
+import org.example.FlightSearchValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Date-heavy inputs: DateParser against the LocalDate.parse path it replaced, and full validations
+ * over a spread of dates including clamped month ends, leap days, long years and malformed text
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateParsingBenchmark {
+
+   private static final String[] DATES = {
+      "10/02/2030", "31/12/2031", "29/02/2032", "31/04/2030", "30/02/2031", "01/01/+02030",
+      "01/01/+20300", "32/01/2030", "2030/01/10", "10-02-2030", "00/01/2030", "15/13/2030"
+   };
+
+   private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+   private FlightSearchValidator validator;
+
+   @Setup
+   public void setUp() {
+      validator = new FlightSearchValidator(BenchmarkClock.CLOCK);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(12)
+   public void dateParser(Blackhole blackhole) {
+      for (String date : DATES) {
+         blackhole.consume(DateParser.parseEpochDay(date));
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(12)
+   public void localDateParse(Blackhole blackhole) {
+      for (String date : DATES) {
+         try {
+            blackhole.consume(LocalDate.parse(date, FORMATTER).toEpochDay());
+         } catch (DateTimeParseException e) {
+            blackhole.consume(e);
+         }
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(12)
+   public void validateDateHeavy(Blackhole blackhole) {
+      for (String date : DATES) {
+         blackhole.consume(validator.check(date, "syd", false, date, "mel", "economy", 1, 0, 0));
+      }
+   }
+}
\ No newline at end of file
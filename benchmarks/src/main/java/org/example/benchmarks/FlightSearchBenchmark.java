@@ -0,0 +1,67 @@
+package org.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.FlightSearch;
+import org.example.FlightSearchValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-thread throughput of runFlightSearch and the stateless validator for the all-valid path
+ * and for a search rejected first by each of the 11 conditions
+ * Run with "-prof gc" to report bytes allocated per operation
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlightSearchBenchmark {
+
+   @Param
+   public SearchScenario scenario;
+
+   private FlightSearch flightSearch;
+   private FlightSearchValidator validator;
+
+   @Setup
+   public void setUp() {
+      validator = new FlightSearchValidator(BenchmarkClock.CLOCK);
+      flightSearch = new FlightSearch(validator);
+   }
+
+   @Benchmark
+   public boolean runFlightSearch() {
+      SearchScenario s = scenario;
+      return flightSearch.runFlightSearch(s.departureDate, s.departureAirportCode, s.emergencyRowSeating,
+                                          s.returnDate, s.destinationAirportCode, s.seatingClass,
+                                          s.adultPassengerCount, s.childPassengerCount, s.infantPassengerCount);
+   }
+
+   @Benchmark
+   public Object validate() {
+      SearchScenario s = scenario;
+      return validator.validate(s.departureDate, s.departureAirportCode, s.emergencyRowSeating,
+                                s.returnDate, s.destinationAirportCode, s.seatingClass,
+                                s.adultPassengerCount, s.childPassengerCount, s.infantPassengerCount);
+   }
+
+   @Benchmark
+   public int check() {
+      SearchScenario s = scenario;
+      return validator.check(s.departureDate, s.departureAirportCode, s.emergencyRowSeating,
+                             s.returnDate, s.destinationAirportCode, s.seatingClass,
+                             s.adultPassengerCount, s.childPassengerCount, s.infantPassengerCount);
+   }
+}
\ No newline at end of file
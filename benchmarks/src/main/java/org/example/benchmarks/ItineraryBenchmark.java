@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.FlightSearchValidator;
+import org.example.Itinerary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of validating a valid six-leg itinerary compared with one valid round trip
+ * Run with "-prof gc" to confirm neither path allocates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItineraryBenchmark {
+
+   private FlightSearchValidator validator;
+   private Itinerary sixLegs;
+
+   @Setup
+   public void setUp() {
+      validator = new FlightSearchValidator(BenchmarkClock.CLOCK);
+      sixLegs = new Itinerary().party("economy", false, 2, 1, 1)
+         .addLeg("10/01/2030", "syd", "mel")
+         .addLeg("12/01/2030", "mel", "lax")
+         .addLeg("15/01/2030", "lax", "cdg")
+         .addLeg("19/01/2030", "cdg", "del")
+         .addLeg("24/01/2030", "del", "doh")
+         .addLeg("30/01/2030", "doh", "syd");
+   }
+
+   @Benchmark
+   public int roundTrip() {
+      return validator.check("10/01/2030", "syd", false, "30/01/2030", "mel", "economy", 2, 1, 1);
+   }
+
+   @Benchmark
+   public int sixLegCheck() {
+      return validator.checkItinerary(sixLegs);
+   }
+
+   @Benchmark
+   public boolean sixLegValidate() {
+      return validator.validateItinerary(sixLegs);
+   }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package org.example.benchmarks;
+
+/**
+ * Benchmark inputs: one search that passes every condition and one that is first rejected by each condition
+ * Dates assume "today" is BenchmarkClock.TODAY
+ */
+public enum SearchScenario {
+   ALL_VALID          ("10/02/2030", "syd", false, "20/02/2030", "mel", "economy",         2, 1, 1),
+   PASSENGER_COUNT    ("10/02/2030", "syd", false, "20/02/2030", "mel", "economy",        10, 0, 0),
+   CHILD_SEATING      ("10/02/2030", "syd", true,  "20/02/2030", "mel", "economy",         2, 1, 0),
+   INFANT_SEATING     ("10/02/2030", "syd", false, "20/02/2030", "mel", "business",        2, 0, 1),
+   CHILD_ADULT_RATIO  ("10/02/2030", "syd", false, "20/02/2030", "mel", "economy",         1, 3, 0),
+   INFANT_ADULT_RATIO ("10/02/2030", "syd", false, "20/02/2030", "mel", "economy",         1, 0, 2),
+   DEPARTURE_DATE     ("01/01/2020", "syd", false, "20/02/2030", "mel", "economy",         1, 0, 0),
+   DATE_FORMAT        ("10/02/2030", "syd", false, "2030/02/20", "mel", "economy",         1, 0, 0),
+   RETURN_DATE        ("10/02/2030", "syd", false, "05/02/2030", "mel", "economy",         1, 0, 0),
+   SEATING_CLASS      ("10/02/2030", "syd", false, "20/02/2030", "mel", "invalid",         1, 0, 0),
+   EMERGENCY_ROW_CLASS("10/02/2030", "syd", true,  "20/02/2030", "mel", "premium economy", 1, 0, 0),
+   AIRPORTS           ("10/02/2030", "syd", false, "20/02/2030", "xxx", "economy",         1, 0, 0);
+
+   final String  departureDate;
+   final String  departureAirportCode;
+   final boolean emergencyRowSeating;
+   final String  returnDate;
+   final String  destinationAirportCode;
+   final String  seatingClass;
+   final int     adultPassengerCount;
+   final int     childPassengerCount;
+   final int     infantPassengerCount;
+
+   SearchScenario(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                  String returnDate,       String destinationAirportCode, String seatingClass,
+                  int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+      this.departureDate = departureDate;
+      this.departureAirportCode = departureAirportCode;
+      this.emergencyRowSeating = emergencyRowSeating;
+      this.returnDate = returnDate;
+      this.destinationAirportCode = destinationAirportCode;
+      this.seatingClass = seatingClass;
+      this.adultPassengerCount = adultPassengerCount;
+      this.childPassengerCount = childPassengerCount;
+      this.infantPassengerCount = infantPassengerCount;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package org.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.FlightSearchValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One FlightSearchValidator shared by several threads, as in a request server
+ * Scaling against FlightSearchBenchmark shows whether shared state limits throughput; change the
+ * thread count with "-t"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SharedValidatorBenchmark {
+
+   @Param({"ALL_VALID", "PASSENGER_COUNT", "AIRPORTS"})
+   public SearchScenario scenario;
+
+   private FlightSearchValidator validator;
+
+   @Setup
+   public void setUp() {
+      validator = new FlightSearchValidator(BenchmarkClock.CLOCK);
+   }
+
+   @Benchmark
+   public Object validate() {
+      SearchScenario s = scenario;
+      return validator.validate(s.departureDate, s.departureAirportCode, s.emergencyRowSeating,
+                                s.returnDate, s.destinationAirportCode, s.seatingClass,
+                                s.adultPassengerCount, s.childPassengerCount, s.infantPassengerCount);
+   }
+
+   @Benchmark
+   public int check() {
+      SearchScenario s = scenario;
+      return validator.check(s.departureDate, s.departureAirportCode, s.emergencyRowSeating,
+                             s.returnDate, s.destinationAirportCode, s.seatingClass,
+                             s.adultPassengerCount, s.childPassengerCount, s.infantPassengerCount);
+   }
+}
\ No newline at end of file
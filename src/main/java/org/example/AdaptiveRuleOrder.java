@@ -0,0 +1,140 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation order for the validation conditions that adapts to the traffic it sees
+ * A random sample of validations evaluates every condition, timing each one and recording which
+ * fail. Every few samples the conditions are re-sorted by expected cost per rejection
+ * (average cost divided by failure rate), so cheap conditions that often fail run first and the
+ * chain short-circuits earlier. All conditions are side-effect free, so any order gives the same
+ * accept/reject outcome.
+ */
+public final class AdaptiveRuleOrder {
+
+   static final int CONDITION_COUNT = SearchCondition.values().length;
+
+   private static final int DEFAULT_SAMPLE_INTERVAL = 256;
+   private static final int SAMPLES_PER_REORDER = 64;
+
+   // Keeps conditions that never fail ranked by cost instead of dividing by zero
+   private static final double MIN_FAILURE_RATE = 1e-6;
+
+   private static final SearchCondition[] CONDITIONS = SearchCondition.values();
+
+   private final int sampleInterval;
+   private final LongAdder[] rejections = new LongAdder[CONDITION_COUNT];
+   private final LongAdder[] nanos = new LongAdder[CONDITION_COUNT];
+   private final AtomicLong samples = new AtomicLong();
+   private volatile int[] order;
+
+   /**
+    * Creates an order that samples one validation in 256
+    */
+   public AdaptiveRuleOrder() {
+      this(DEFAULT_SAMPLE_INTERVAL);
+   }
+
+   /**
+    * @param sampleInterval on average one validation in this many is sampled
+    * @throws IllegalArgumentException if the interval is not positive
+    */
+   public AdaptiveRuleOrder(int sampleInterval) {
+      if (sampleInterval < 1) {
+         throw new IllegalArgumentException("Sample interval must be positive: " + sampleInterval);
+      }
+      this.sampleInterval = sampleInterval;
+      int[] initial = new int[CONDITION_COUNT];
+      for (int i = 0; i < CONDITION_COUNT; i++) {
+         rejections[i] = new LongAdder();
+         nanos[i] = new LongAdder();
+         initial[i] = i;
+      }
+      this.order = initial;
+   }
+
+   /**
+    * @return the conditions in the order they are currently evaluated
+    */
+   public List<SearchCondition> order() {
+      List<SearchCondition> conditions = new ArrayList<>(CONDITION_COUNT);
+      for (int condition : order) {
+         conditions.add(CONDITIONS[condition]);
+      }
+      return Collections.unmodifiableList(conditions);
+   }
+
+   /**
+    * @return the number of sampled validations so far
+    */
+   public long samples() {
+      return samples.get();
+   }
+
+   /**
+    * @param condition a validation condition
+    * @return how many sampled validations failed the condition
+    */
+   public long rejections(SearchCondition condition) {
+      return rejections[condition.ordinal()].sum();
+   }
+
+   /**
+    * @return condition ordinals in evaluation order; the array is never modified
+    */
+   int[] currentOrder() {
+      return order;
+   }
+
+   /**
+    * @return true if the calling validation should evaluate and time every condition
+    */
+   boolean shouldSample() {
+      return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+   }
+
+   void recordCost(int condition, long elapsedNanos) {
+      nanos[condition].add(elapsedNanos);
+   }
+
+   /**
+    * Records the failure mask of a sampled validation and periodically recomputes the order
+    */
+   void recordSample(int failures) {
+      for (int condition = 0; condition < CONDITION_COUNT; condition++) {
+         if ((failures & (1 << condition)) != 0) {
+            rejections[condition].increment();
+         }
+      }
+      if (samples.incrementAndGet() % SAMPLES_PER_REORDER == 0) {
+         reorder();
+      }
+   }
+
+   /**
+    * Sorts conditions by average cost over failure rate; ties keep the condition numbering order
+    */
+   void reorder() {
+      long sampleCount = Math.max(1, samples.get());
+      double[] rank = new double[CONDITION_COUNT];
+      Integer[] sorted = new Integer[CONDITION_COUNT];
+      for (int i = 0; i < CONDITION_COUNT; i++) {
+         double cost = Math.max(1, nanos[i].sum()) / (double) sampleCount;
+         double failureRate = Math.max(MIN_FAILURE_RATE, rejections[i].sum() / (double) sampleCount);
+         rank[i] = cost / failureRate;
+         sorted[i] = i;
+      }
+      Arrays.sort(sorted, (a, b) -> Double.compare(rank[a], rank[b]));
+      int[] next = new int[CONDITION_COUNT];
+      for (int i = 0; i < CONDITION_COUNT; i++) {
+         next[i] = sorted[i];
+      }
+      order = next;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Holder of the current airport reference data
+ * The registry publishes immutable Airports snapshots through a volatile field: a reload builds
+ * the complete new dictionary first and then swaps it in with a single write, so a validation that
+ * has read a snapshot keeps using it unchanged and never sees a half-loaded set
+ */
+public final class AirportRegistry {
+
+   private final Path file;
+   private volatile Airports current;
+   private volatile FileTime loadedModifiedTime;
+
+   /**
+    * Creates a registry with fixed reference data that is never reloaded
+    * @param airports the airport dictionary
+    */
+   public AirportRegistry(Airports airports) {
+      this.file = null;
+      this.current = airports;
+   }
+
+   private AirportRegistry(Path file, Airports airports, FileTime modifiedTime) {
+      this.file = file;
+      this.current = airports;
+      this.loadedModifiedTime = modifiedTime;
+   }
+
+   /**
+    * Creates a registry backed by an airport file, see Airports.load for the format
+    * @param file airport file
+    * @return the registry holding the file's current contents
+    * @throws IOException if the file cannot be read or holds an invalid code
+    */
+   public static AirportRegistry load(Path file) throws IOException {
+      FileTime modifiedTime = Files.getLastModifiedTime(file);
+      return new AirportRegistry(file, Airports.load(file), modifiedTime);
+   }
+
+   /**
+    * @return the current airport snapshot; callers should read it once per validation
+    */
+   public Airports current() {
+      return current;
+   }
+
+   /**
+    * Reloads the airport file and swaps in the new snapshot
+    * If loading fails the current snapshot stays in place
+    * @throws IOException if the file cannot be read or holds an invalid code
+    * @throws IllegalStateException if the registry is not backed by a file
+    */
+   public synchronized void reload() throws IOException {
+      if (file == null) {
+         throw new IllegalStateException("Airport registry is not backed by a file");
+      }
+      FileTime modifiedTime = Files.getLastModifiedTime(file);
+      Airports airports = Airports.load(file);
+      loadedModifiedTime = modifiedTime;
+      current = airports;
+   }
+
+   /**
+    * Reloads the airport file if it changed since the last load; suitable for calling on a schedule
+    * @return true if a new snapshot was swapped in
+    * @throws IOException if the file cannot be read or holds an invalid code
+    */
+   public synchronized boolean reloadIfModified() throws IOException {
+      if (file == null || Files.getLastModifiedTime(file).equals(loadedModifiedTime)) {
+         return false;
+      }
+      reload();
+      return true;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable dictionary of the airports WorldWanderer searches between
+ * Each airport has a small integer id (its position in the dictionary). Lookups pack the three
+ * letters of a code into a 15-bit index and read the id from a table, so they ignore case without
+ * lowercasing, allocating or hashing the code. Dictionaries are swapped as whole snapshots by
+ * AirportRegistry.
+ */
+public final class Airports {
+
+   /** Id returned for codes that are not in the dictionary */
+   public static final int UNKNOWN = -1;
+
+   /** Number of distinct packed three-letter codes; every packed code is below this */
+   public static final int PACKED_CODE_SPACE = 26 * 26 * 26;
+
+   // Valid airport codes as per requirement
+   private static final Airports DEFAULTS = of(
+       "syd", "mel", "lax", "cdg", "del", "pvg", "doh"
+   );
+
+   private final String[] codes;
+
+   // Airport id for every packed code, UNKNOWN where no airport has that code
+   private final short[] idsByPackedCode;
+
+   private Airports(String[] codes, short[] idsByPackedCode) {
+      this.codes = codes;
+      this.idsByPackedCode = idsByPackedCode;
+   }
+
+   /**
+    * @return the built-in dictionary of the airports in the original requirement
+    */
+   public static Airports defaults() {
+      return DEFAULTS;
+   }
+
+   /**
+    * Builds a dictionary; ids follow the order of the codes and duplicates keep their first id
+    * @param codes three-letter airport codes in any case
+    * @return the dictionary
+    * @throws IllegalArgumentException if a code is not three ASCII letters
+    */
+   public static Airports of(String... codes) {
+      short[] idsByPackedCode = new short[PACKED_CODE_SPACE];
+      Arrays.fill(idsByPackedCode, (short) UNKNOWN);
+      List<String> unique = new ArrayList<>(codes.length);
+      for (String code : codes) {
+         int packed = pack(code);
+         if (packed < 0) {
+            throw new IllegalArgumentException("Invalid airport code: " + code);
+         }
+         if (idsByPackedCode[packed] == UNKNOWN) {
+            if (unique.size() > Short.MAX_VALUE) {
+               throw new IllegalArgumentException("Too many airport codes");
+            }
+            idsByPackedCode[packed] = (short) unique.size();
+            unique.add(unpack(packed));
+         }
+      }
+      return new Airports(unique.toArray(new String[0]), idsByPackedCode);
+   }
+
+   /**
+    * Loads a dictionary from a text file
+    * Each non-blank line holds an airport code, optionally followed by a comma and further columns;
+    * lines starting with '#' are comments
+    * @param file airport file
+    * @return the dictionary
+    * @throws IOException if the file cannot be read or holds an invalid code
+    */
+   public static Airports load(Path file) throws IOException {
+      List<String> codes = new ArrayList<>();
+      try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+         String line;
+         int lineNumber = 0;
+         while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comma = line.indexOf(',');
+            String code = (comma < 0 ? line : line.substring(0, comma)).trim();
+            if (code.isEmpty() || code.startsWith("#")) {
+               continue;
+            }
+            if (pack(code) < 0) {
+               throw new IOException("Invalid airport code '" + code + "' on line " + lineNumber + " of " + file);
+            }
+            codes.add(code);
+         }
+      }
+      return of(codes.toArray(new String[0]));
+   }
+
+   /**
+    * @return the number of airports; valid ids are 0 to count() - 1
+    */
+   public int count() {
+      return codes.length;
+   }
+
+   /**
+    * Looks up an airport code, ignoring case
+    * @param code airport code
+    * @return the airport id, or UNKNOWN
+    */
+   public int id(CharSequence code) {
+      int packed = pack(code);
+      return packed < 0 ? UNKNOWN : idsByPackedCode[packed];
+   }
+
+   /**
+    * Looks up an airport code held as ASCII bytes, ignoring case and without copying the bytes
+    * @param bytes buffer holding the code
+    * @param offset index of the first byte of the code
+    * @param length number of bytes in the code
+    * @return the airport id, or UNKNOWN
+    */
+   public int id(byte[] bytes, int offset, int length) {
+      if (length != 3) {
+         return UNKNOWN;
+      }
+      return idOfPacked(pack(bytes[offset], bytes[offset + 1], bytes[offset + 2]));
+   }
+
+   /**
+    * Looks up an already packed airport code
+    * @param packedCode result of pack(), or -1
+    * @return the airport id, or UNKNOWN
+    */
+   public int idOfPacked(int packedCode) {
+      return packedCode < 0 || packedCode >= PACKED_CODE_SPACE ? UNKNOWN : idsByPackedCode[packedCode];
+   }
+
+   /**
+    * @param id airport id
+    * @return the lowercase airport code for the id
+    */
+   public String code(int id) {
+      return codes[id];
+   }
+
+   /**
+    * @param id airport id
+    * @return true if the id belongs to a known airport
+    */
+   public boolean isValid(int id) {
+      return id >= 0 && id < codes.length;
+   }
+
+   /**
+    * Packs a three-letter code into a number below PACKED_CODE_SPACE, ignoring case
+    * @param code airport code
+    * @return the packed code, or -1 if the code is not exactly three ASCII letters
+    */
+   public static int pack(CharSequence code) {
+      if (code == null || code.length() != 3) {
+         return -1;
+      }
+      return pack(code.charAt(0), code.charAt(1), code.charAt(2));
+   }
+
+   /**
+    * Packs three letters into a number below PACKED_CODE_SPACE, ignoring case
+    * @return the packed code, or -1 if any character is not an ASCII letter
+    */
+   static int pack(int first, int second, int third) {
+      int a = letterIndex(first);
+      int b = letterIndex(second);
+      int c = letterIndex(third);
+      if ((a | b | c) < 0) {
+         return -1;
+      }
+      return (a * 26 + b) * 26 + c;
+   }
+
+   /**
+    * @param packedCode a packed code below PACKED_CODE_SPACE
+    * @return the lowercase three-letter code
+    */
+   public static String unpack(int packedCode) {
+      char[] letters = {
+         (char) ('a' + packedCode / 676),
+         (char) ('a' + (packedCode / 26) % 26),
+         (char) ('a' + packedCode % 26)
+      };
+      return new String(letters);
+   }
+
+   /**
+    * @return 0-25 for an ASCII letter of either case, -1 for anything else
+    */
+   static int letterIndex(int c) {
+      int index = (c | 0x20) - 'a';
+      return index >= 0 && index < 26 ? index : -1;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package org.example;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Asynchronous facade over a FlightSearchValidator for request servers
+ * Each search is validated as its own task, by default on a new virtual thread, and the result is
+ * delivered through a CompletableFuture that completes with the accepted criteria or null. The
+ * number of searches queued or running is bounded: submit() waits for a free slot and trySubmit()
+ * fails fast, so a burst of requests is pushed back to the caller instead of growing without limit.
+ */
+public final class AsyncSearchValidator implements AutoCloseable {
+
+   private final FlightSearchValidator validator;
+   private final Executor executor;
+   private final ExecutorService ownedExecutor;
+   private final Semaphore slots;
+   private final int maxInFlight;
+   private volatile boolean closed;
+
+   /**
+    * Creates a facade validating every search on its own virtual thread
+    * @param validator validator shared by all tasks
+    * @param maxInFlight most searches queued or running at once
+    */
+   public AsyncSearchValidator(FlightSearchValidator validator, int maxInFlight) {
+      this(validator, maxInFlight, Executors.newVirtualThreadPerTaskExecutor(), true);
+   }
+
+   /**
+    * Creates a facade running validations on the given executor, which close() leaves running
+    * @param validator validator shared by all tasks
+    * @param maxInFlight most searches queued or running at once
+    * @param executor executor running the validation tasks
+    */
+   public AsyncSearchValidator(FlightSearchValidator validator, int maxInFlight, Executor executor) {
+      this(validator, maxInFlight, executor, false);
+   }
+
+   private AsyncSearchValidator(FlightSearchValidator validator, int maxInFlight, Executor executor, boolean owned) {
+      if (maxInFlight < 1) {
+         throw new IllegalArgumentException("Maximum in-flight searches must be positive: " + maxInFlight);
+      }
+      this.validator = validator;
+      this.executor = executor;
+      this.ownedExecutor = owned ? (ExecutorService) executor : null;
+      this.slots = new Semaphore(maxInFlight);
+      this.maxInFlight = maxInFlight;
+   }
+
+   /**
+    * @return the most searches queued or running at once
+    */
+   public int maxInFlight() {
+      return maxInFlight;
+   }
+
+   /**
+    * @return the number of searches currently queued or running
+    */
+   public int inFlight() {
+      return maxInFlight - slots.availablePermits();
+   }
+
+   /**
+    * Validates a search asynchronously, waiting for a free slot if the facade is at capacity
+    * Takes the same parameters as FlightSearchValidator.validate
+    * @return a future completing with the accepted criteria, or null if the search is rejected
+    * @throws InterruptedException if interrupted while waiting for a slot
+    * @throws RejectedExecutionException if the facade is closed
+    */
+   public CompletableFuture<SearchCriteria> submit(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                                   String returnDate,       String destinationAirportCode, String seatingClass,
+                                                   int adultPassengerCount, int childPassengerCount,       int infantPassengerCount)
+         throws InterruptedException {
+      ensureOpen();
+      slots.acquire();
+      return start(departureDate, departureAirportCode, emergencyRowSeating,
+                   returnDate, destinationAirportCode, seatingClass,
+                   adultPassengerCount, childPassengerCount, infantPassengerCount);
+   }
+
+   /**
+    * Validates a search asynchronously if a slot is free
+    * Takes the same parameters as FlightSearchValidator.validate
+    * @return a future completing with the accepted criteria or null, or already failed with
+    *         RejectedExecutionException if the facade is at capacity or closed
+    */
+   public CompletableFuture<SearchCriteria> trySubmit(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                                      String returnDate,       String destinationAirportCode, String seatingClass,
+                                                      int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+      if (closed) {
+         return CompletableFuture.failedFuture(new RejectedExecutionException("Validator is closed"));
+      }
+      if (!slots.tryAcquire()) {
+         return CompletableFuture.failedFuture(new RejectedExecutionException(maxInFlight + " searches already in flight"));
+      }
+      return start(departureDate, departureAirportCode, emergencyRowSeating,
+                   returnDate, destinationAirportCode, seatingClass,
+                   adultPassengerCount, childPassengerCount, infantPassengerCount);
+   }
+
+   /**
+    * Hands a search that holds a slot to the executor; the slot is released when the task ends
+    */
+   private CompletableFuture<SearchCriteria> start(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                                   String returnDate,       String destinationAirportCode, String seatingClass,
+                                                   int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+      CompletableFuture<SearchCriteria> result = new CompletableFuture<>();
+      try {
+         executor.execute(() -> {
+            try {
+               result.complete(validator.validate(departureDate, departureAirportCode, emergencyRowSeating,
+                                                  returnDate, destinationAirportCode, seatingClass,
+                                                  adultPassengerCount, childPassengerCount, infantPassengerCount));
+            } catch (Throwable t) {
+               result.completeExceptionally(t);
+            } finally {
+               slots.release();
+            }
+         });
+      } catch (RejectedExecutionException e) {
+         slots.release();
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
+   private void ensureOpen() {
+      if (closed) {
+         throw new RejectedExecutionException("Validator is closed");
+      }
+   }
+
+   /**
+    * Stops accepting searches; an executor created by this facade finishes the searches in flight
+    * and is shut down, a caller-supplied executor is left running
+    */
+   @Override
+   public void close() {
+      closed = true;
+      if (ownedExecutor != null) {
+         ownedExecutor.close();
+      }
+   }
+}
\ No newline at end of file
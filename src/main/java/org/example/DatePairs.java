@@ -0,0 +1,91 @@
+package org.example;
+
+import java.time.LocalDate;
+
+/**
+ * The valid (departure, return) date pairs found by FlightSearchValidator.validateDateWindows
+ * Pairs are held as epoch days in two parallel arrays, ordered by departure day and then by
+ * return day
+ */
+public final class DatePairs {
+
+   static final DatePairs EMPTY = new DatePairs(new long[0], new long[0]);
+
+   private final long[] departureDays;
+   private final long[] returnDays;
+
+   DatePairs(long[] departureDays, long[] returnDays) {
+      this.departureDays = departureDays;
+      this.returnDays = returnDays;
+   }
+
+   /**
+    * @return the number of valid pairs
+    */
+   public int size() {
+      return departureDays.length;
+   }
+
+   /**
+    * @return true if no pair is valid
+    */
+   public boolean isEmpty() {
+      return departureDays.length == 0;
+   }
+
+   /**
+    * @param index pair index, 0 to size() - 1
+    * @return the departure date of the pair as an epoch day
+    */
+   public long departureDay(int index) {
+      return departureDays[index];
+   }
+
+   /**
+    * @param index pair index, 0 to size() - 1
+    * @return the return date of the pair as an epoch day
+    */
+   public long returnDay(int index) {
+      return returnDays[index];
+   }
+
+   /**
+    * @param index pair index, 0 to size() - 1
+    * @return the departure date of the pair
+    */
+   public LocalDate departureDate(int index) {
+      return LocalDate.ofEpochDay(departureDays[index]);
+   }
+
+   /**
+    * @param index pair index, 0 to size() - 1
+    * @return the return date of the pair
+    */
+   public LocalDate returnDate(int index) {
+      return LocalDate.ofEpochDay(returnDays[index]);
+   }
+
+   /**
+    * @param departureDay departure date as an epoch day
+    * @param returnDay return date as an epoch day
+    * @return true if the pair is one of the valid pairs
+    */
+   public boolean contains(long departureDay, long returnDay) {
+      int low = 0;
+      int high = departureDays.length - 1;
+      while (low <= high) {
+         int middle = (low + high) >>> 1;
+         int order = departureDays[middle] != departureDay
+                   ? Long.compare(departureDays[middle], departureDay)
+                   : Long.compare(returnDays[middle], returnDay);
+         if (order < 0) {
+            low = middle + 1;
+         } else if (order > 0) {
+            high = middle - 1;
+         } else {
+            return true;
+         }
+      }
+      return false;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package org.example;
+
+/**
+ * Allocation-free parser for DD/MM/YYYY dates
+ * Decodes a date straight into an epoch-day value with the same accept/reject rules as
+ * LocalDate.parse(text, DateTimeFormatter.ofPattern("dd/MM/yyyy")) in its default SMART mode
+ */
+public final class DateParser {
+
+   /** Returned for text that LocalDate.parse would reject; never a valid epoch day */
+   public static final long INVALID = Long.MIN_VALUE;
+
+   // The "yyyy" field prints at least 4 digits and parses at most 19
+   private static final int MIN_YEAR_DIGITS = 4;
+   private static final int MAX_YEAR_DIGITS = 19;
+   private static final long MAX_YEAR = 999_999_999L;
+
+   private static final int DAYS_PER_CYCLE = 146097;
+   private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+
+   /** Epoch days of the first and last dates this parser accepts, 01/01/0001 and 31/12/+999999999 */
+   static final long MIN_EPOCH_DAY = toEpochDay(1, 1, 1);
+   static final long MAX_EPOCH_DAY = toEpochDay(MAX_YEAR, 12, 31);
+
+   private DateParser() {
+   }
+
+   /**
+    * Parses a date in DD/MM/YYYY format
+    * @param text the date text
+    * @return the epoch day, or INVALID if the text is not a valid date
+    */
+   public static long parseEpochDay(CharSequence text) {
+      return parse(text, null, 0, text.length());
+   }
+
+   /**
+    * Parses a date in DD/MM/YYYY format from ASCII bytes, without copying them
+    * @param bytes buffer holding the date
+    * @param offset index of the first byte of the date
+    * @param length number of bytes in the date
+    * @return the epoch day, or INVALID if the bytes are not a valid date
+    */
+   public static long parseEpochDay(byte[] bytes, int offset, int length) {
+      return parse(null, bytes, offset, length);
+   }
+
+   /**
+    * Parses the date held in text, or in bytes from offset when text is null
+    */
+   private static long parse(CharSequence text, byte[] bytes, int offset, int length) {
+      if (length < 10 || charAt(text, bytes, offset, 2) != '/' || charAt(text, bytes, offset, 5) != '/') {
+         return INVALID;
+      }
+      int day = twoDigits(charAt(text, bytes, offset, 0), charAt(text, bytes, offset, 1));
+      int month = twoDigits(charAt(text, bytes, offset, 3), charAt(text, bytes, offset, 4));
+
+      // Unsigned years must be exactly 4 digits; more digits need a leading '+'
+      int position = 6;
+      int maxDigits = MIN_YEAR_DIGITS;
+      if (charAt(text, bytes, offset, position) == '+') {
+         position++;
+         maxDigits = MAX_YEAR_DIGITS;
+      }
+      int digits = length - position;
+      if (digits < MIN_YEAR_DIGITS || digits > maxDigits || (maxDigits == MAX_YEAR_DIGITS && digits == MIN_YEAR_DIGITS)) {
+         return INVALID;
+      }
+      long year = 0;
+      for (int i = position; i < length; i++) {
+         int digit = charAt(text, bytes, offset, i) - '0';
+         if (digit < 0 || digit > 9) {
+            return INVALID;
+         }
+         if (year <= MAX_YEAR) {
+            year = year * 10 + digit;
+         }
+      }
+      return toEpochDay(year, month, day);
+   }
+
+   private static int charAt(CharSequence text, byte[] bytes, int offset, int index) {
+      return text != null ? text.charAt(index) : bytes[offset + index];
+   }
+
+   /**
+    * Resolves a parsed day, month and year into an epoch day the way the SMART resolver does:
+    * day 29-31 is clamped to the last day of shorter months, anything else out of range is rejected
+    */
+   static long toEpochDay(long year, int month, int day) {
+      if (year < 1 || year > MAX_YEAR || month < 1 || month > 12 || day < 1 || day > 31) {
+         return INVALID;
+      }
+      int monthLength = monthLength(year, month);
+      if (day > monthLength) {
+         day = monthLength;
+      }
+
+      // Same arithmetic as LocalDate.toEpochDay, kept in primitives
+      long total = 365 * year;
+      total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+      total += (367 * month - 362) / 12;
+      total += day - 1;
+      if (month > 2) {
+         total--;
+         if (!isLeapYear(year)) {
+            total--;
+         }
+      }
+      return total - DAYS_0000_TO_1970;
+   }
+
+   private static int twoDigits(int tens, int units) {
+      int high = tens - '0';
+      int low = units - '0';
+      if (high < 0 || high > 9 || low < 0 || low > 9) {
+         return -1;
+      }
+      return high * 10 + low;
+   }
+
+   private static int monthLength(long year, int month) {
+      switch (month) {
+         case 2:
+            return isLeapYear(year) ? 29 : 28;
+         case 4:
+         case 6:
+         case 9:
+         case 11:
+            return 30;
+         default:
+            return 31;
+      }
+   }
+
+   private static boolean isLeapYear(long year) {
+      return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+   }
+}
\ No newline at end of file
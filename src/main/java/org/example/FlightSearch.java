@@ -2,35 +2,44 @@ package org.example;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * FlightSearch class for validating flight search criteria in WorldWanderer website
  * This class validates various flight search parameters according to business rules
+ * Validation is delegated to a shared, stateless FlightSearchValidator; this class keeps the
+ * last accepted criteria for the getter-based API
+ * The CharSequence and byte[] overloads read their text fields in place and keep only the decoded
+ * values, so a successful call allocates nothing; the criteria are built when a getter asks for them.
  */
 public class FlightSearch {
-   private String  departureDate;
-   private String  departureAirportCode;
-   private boolean emergencyRowSeating;
-   private String  returnDate;
-   private String  destinationAirportCode; 
-   private String  seatingClass;
-   private int     adultPassengerCount;
-   private int     childPassengerCount;
-   private int     infantPassengerCount;
-
-   // Valid airport codes as per requirement
-   private static final Set<String> VALID_AIRPORTS = new HashSet<>(Arrays.asList(
-       "syd", "mel", "lax", "cdg", "del", "pvg", "doh"
-   ));
-
-   // Valid seating classes as per requirement
-   private static final Set<String> VALID_SEATING_CLASSES = new HashSet<>(Arrays.asList(
-       "economy", "premium economy", "business", "first"
-   ));
+   // One validator serves every FlightSearch instance and thread
+   private static final FlightSearchValidator DEFAULT_VALIDATOR = new FlightSearchValidator();
+
+   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+   private final FlightSearchValidator validator;
+   private SearchCriteria criteria;
+
+   // Last search accepted by a CharSequence or byte[] overload, until criteria are built from it
+   private boolean decodedPending;
+   private Airports decodedAirports;
+   private long     departureDay;
+   private int      departureAirport;
+   private boolean  emergencyRow;
+   private long     returnDay;
+   private int      destinationAirport;
+   private int      seatingClassId;
+   private int      adults;
+   private int      children;
+   private int      infants;
+
+   public FlightSearch() {
+      this(DEFAULT_VALIDATOR);
+   }
+
+   public FlightSearch(FlightSearchValidator validator) {
+      this.validator = validator;
+   }
 
    /**
     * Validates and processes flight search parameters
@@ -45,195 +54,132 @@ public class FlightSearch {
     * @param infantPassengerCount number of infant passengers
     * @return true if all validation conditions are met, false otherwise
     */
-   public boolean runFlightSearch(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating, 
-                                  String returnDate,       String destinationAirportCode, String seatingClass, 
+   public boolean runFlightSearch(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                  String returnDate,       String destinationAirportCode, String seatingClass,
                                   int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
-      
-      // Validate all parameters according to business rules
-      if (!validatePassengerCounts(adultPassengerCount, childPassengerCount, infantPassengerCount)) {
-         return false;
-      }
 
-      if (!validateChildEmergencyRowBusinessRules(childPassengerCount, emergencyRowSeating, seatingClass)) {
-         return false;
-      }
-
-      if (!validateInfantEmergencyRowBusinessRules(infantPassengerCount, emergencyRowSeating, seatingClass)) {
-         return false;
-      }
-
-      if (!validateChildAdultRatio(childPassengerCount, adultPassengerCount)) {
-         return false;
-      }
-
-      if (!validateInfantAdultRatio(infantPassengerCount, adultPassengerCount)) {
-         return false;
-      }
-
-      if (!validateDepartureDate(departureDate)) {
-         return false;
-      }
-
-      if (!validateDateFormat(departureDate) || !validateDateFormat(returnDate)) {
-         return false;
-      }
-
-      if (!validateReturnDate(departureDate, returnDate)) {
-         return false;
-      }
-
-      if (!validateSeatingClass(seatingClass)) {
-         return false;
-      }
-
-      if (!validateEmergencyRowSeatingClass(emergencyRowSeating, seatingClass)) {
-         return false;
-      }
-
-      if (!validateAirportCodes(departureAirportCode, destinationAirportCode)) {
+      SearchCriteria accepted = validator.validate(departureDate, departureAirportCode, emergencyRowSeating,
+                                                   returnDate, destinationAirportCode, seatingClass,
+                                                   adultPassengerCount, childPassengerCount, infantPassengerCount);
+      if (accepted == null) {
          return false;
       }
 
       // All validations passed - initialize class attributes
-      this.departureDate = departureDate;
-      this.departureAirportCode = departureAirportCode;
-      this.emergencyRowSeating = emergencyRowSeating;
-      this.returnDate = returnDate;
-      this.destinationAirportCode = destinationAirportCode;
-      this.seatingClass = seatingClass;
-      this.adultPassengerCount = adultPassengerCount;
-      this.childPassengerCount = childPassengerCount;
-      this.infantPassengerCount = infantPassengerCount;
-
+      this.criteria = accepted;
+      this.decodedPending = false;
       return true;
    }
 
    /**
-    * Condition 1: Validate total passenger count (1-9 passengers)
+    * Validates flight search parameters held as character sequences, without copying them
+    * Takes the same parameters as the String overload. Accepted fields are kept decoded, so the
+    * getters return airport codes in lowercase, the seating class label and dates as DD/MM/YYYY.
+    * Dates are printed from the resolved day rather than copied, so a day clamped to the end of
+    * its month reads back as that day: 31/02/2030 is returned as 28/02/2030, where the String
+    * overload returns the text as given.
+    * @return true if all validation conditions are met, false otherwise
     */
-   private boolean validatePassengerCounts(int adultCount, int childCount, int infantCount) {
-      int totalPassengers = adultCount + childCount + infantCount;
-      return totalPassengers >= 1 && totalPassengers <= 9;
+   public boolean runFlightSearch(CharSequence departureDate, CharSequence departureAirportCode,   boolean emergencyRowSeating,
+                                  CharSequence returnDate,    CharSequence destinationAirportCode, CharSequence seatingClass,
+                                  int adultPassengerCount,    int childPassengerCount,             int infantPassengerCount) {
+      Airports airportTable = validator.airports().current();
+      return accept(DateParser.parseEpochDay(departureDate), airportTable.id(departureAirportCode), emergencyRowSeating,
+                    DateParser.parseEpochDay(returnDate), airportTable.id(destinationAirportCode), SeatingClass.id(seatingClass),
+                    adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable);
    }
 
    /**
-    * Condition 2: Children cannot be seated in emergency row or first class
+    * Validates flight search parameters whose text fields are ASCII slices of one byte buffer,
+    * without copying them
+    * Each text field is given as an offset and a length into the buffer; the other parameters
+    * are those of the String overload, and getters behave as for the CharSequence overload.
+    * @param bytes buffer holding the text fields
+    * @return true if all validation conditions are met, false otherwise
     */
-   private boolean validateChildEmergencyRowBusinessRules(int childCount, boolean emergencyRow, String seatingClass) {
-      if (childCount > 0 && (emergencyRow || "first".equals(seatingClass))) {
-         return false;
-      }
-      return true;
+   public boolean runFlightSearch(byte[] bytes,
+                                  int departureDateOffset,      int departureDateLength,
+                                  int departureAirportOffset,   int departureAirportLength,   boolean emergencyRowSeating,
+                                  int returnDateOffset,         int returnDateLength,
+                                  int destinationAirportOffset, int destinationAirportLength,
+                                  int seatingClassOffset,       int seatingClassLength,
+                                  int adultPassengerCount,      int childPassengerCount,      int infantPassengerCount) {
+      Airports airportTable = validator.airports().current();
+      return accept(DateParser.parseEpochDay(bytes, departureDateOffset, departureDateLength),
+                    airportTable.id(bytes, departureAirportOffset, departureAirportLength), emergencyRowSeating,
+                    DateParser.parseEpochDay(bytes, returnDateOffset, returnDateLength),
+                    airportTable.id(bytes, destinationAirportOffset, destinationAirportLength),
+                    SeatingClass.id(bytes, seatingClassOffset, seatingClassLength),
+                    adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable);
    }
 
    /**
-    * Condition 3: Infants cannot be seated in emergency row or business class
+    * Validates decoded fields and keeps them if they pass
     */
-   private boolean validateInfantEmergencyRowBusinessRules(int infantCount, boolean emergencyRow, String seatingClass) {
-      if (infantCount > 0 && (emergencyRow || "business".equals(seatingClass))) {
-         return false;
-      }
+   private boolean accept(long departureDay,       int departureAirport,   boolean emergencyRowSeating,
+                          long returnDay,          int destinationAirport, int seatingClassId,
+                          int adultPassengerCount, int childPassengerCount, int infantPassengerCount,
+                          Airports airportTable) {
+      if (!validator.validateResolved(departureDay, departureAirport, emergencyRowSeating,
+                                      returnDay, destinationAirport, seatingClassId,
+                                      adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable)) {
+         return false;
+      }
+      this.decodedPending = true;
+      this.decodedAirports = airportTable;
+      this.departureDay = departureDay;
+      this.departureAirport = departureAirport;
+      this.emergencyRow = emergencyRowSeating;
+      this.returnDay = returnDay;
+      this.destinationAirport = destinationAirport;
+      this.seatingClassId = seatingClassId;
+      this.adults = adultPassengerCount;
+      this.children = childPassengerCount;
+      this.infants = infantPassengerCount;
       return true;
    }
 
    /**
-    * Condition 4: Up to 2 children per adult (children must be seated next to adults)
-    */
-   private boolean validateChildAdultRatio(int childCount, int adultCount) {
-      if (adultCount == 0 && childCount > 0) {
-         return false; // No adults to accompany children
-      }
-      return childCount <= (adultCount * 2);
-   }
-
-   /**
-    * Condition 5: One infant per adult (infants sit on adult's lap)
+    * Validates a columnar batch of searches in one pass without touching this object's attributes
+    * @param batch searches to validate
+    * @return a bitset with bit i set when row i passes all validation conditions
     */
-   private boolean validateInfantAdultRatio(int infantCount, int adultCount) {
-      return infantCount <= adultCount;
-   }
-
-   /**
-    * Condition 6: Departure date cannot be in the past
-    */
-   private boolean validateDepartureDate(String departureDate) {
-      try {
-         LocalDate departure = parseDate(departureDate);
-         LocalDate today = LocalDate.now();
-         return !departure.isBefore(today);
-      } catch (DateTimeParseException e) {
-         return false;
-      }
-   }
-
-   /**
-    * Condition 7: Validate date format DD/MM/YYYY and ensure valid date
-    */
-   private boolean validateDateFormat(String date) {
-      try {
-         parseDate(date);
-         return true;
-      } catch (DateTimeParseException e) {
-         return false;
-      }
-   }
-
-   /**
-    * Condition 8: Return date cannot be before departure date
-    */
-   private boolean validateReturnDate(String departureDate, String returnDate) {
-      try {
-         LocalDate departure = parseDate(departureDate);
-         LocalDate returnDateParsed = parseDate(returnDate);
-         return !returnDateParsed.isBefore(departure);
-      } catch (DateTimeParseException e) {
-         return false;
-      }
-   }
-
-   /**
-    * Condition 9: Seating class must be valid
-    */
-   private boolean validateSeatingClass(String seatingClass) {
-      return VALID_SEATING_CLASSES.contains(seatingClass.toLowerCase());
-   }
-
-   /**
-    * Condition 10: Only economy class seating can have an emergency row (all classes of seating can be non-emergency)
-    */
-   private boolean validateEmergencyRowSeatingClass(boolean emergencyRow, String seatingClass) {
-      if (emergencyRow && !"economy".equalsIgnoreCase(seatingClass)) {
-         return false;
-      }
-      return true;
+   public long[] runFlightSearchBatch(SearchBatch batch) {
+      return validator.validateBatch(batch);
    }
 
    /**
-    * Condition 11: Validate airport codes and ensure they are different
+    * Validates a large columnar batch of searches across the common fork/join pool
+    * @param batch searches to validate
+    * @return a bitset with bit i set when row i passes all validation conditions
     */
-   private boolean validateAirportCodes(String departureAirport, String destinationAirport) {
-      boolean validAirports = VALID_AIRPORTS.contains(departureAirport.toLowerCase()) && 
-                             VALID_AIRPORTS.contains(destinationAirport.toLowerCase());
-      boolean differentAirports = !departureAirport.toLowerCase().equals(destinationAirport.toLowerCase());
-      return validAirports && differentAirports;
+   public long[] runFlightSearchBatchParallel(SearchBatch batch) {
+      return validator.validateBatchParallel(batch);
    }
 
    /**
-    * Helper method to parse date from DD/MM/YYYY format
+    * @return the criteria of the last successful search, or null if no search has passed yet
     */
-   private LocalDate parseDate(String date) throws DateTimeParseException {
-      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-      return LocalDate.parse(date, formatter);
+   public SearchCriteria getCriteria() {
+      if (decodedPending) {
+         criteria = new SearchCriteria(LocalDate.ofEpochDay(departureDay).format(DATE_FORMAT), decodedAirports.code(departureAirport),
+                                       emergencyRow,
+                                       LocalDate.ofEpochDay(returnDay).format(DATE_FORMAT), decodedAirports.code(destinationAirport),
+                                       SeatingClass.fromId(seatingClassId).label(),
+                                       adults, children, infants, departureDay, returnDay);
+         decodedPending = false;
+      }
+      return criteria;
    }
 
    // Getter methods for testing purposes
-   public String getDepartureDate() { return departureDate; }
-   public String getDepartureAirportCode() { return departureAirportCode; }
-   public boolean isEmergencyRowSeating() { return emergencyRowSeating; }
-   public String getReturnDate() { return returnDate; }
-   public String getDestinationAirportCode() { return destinationAirportCode; }
-   public String getSeatingClass() { return seatingClass; }
-   public int getAdultPassengerCount() { return adultPassengerCount; }
-   public int getChildPassengerCount() { return childPassengerCount; }
-   public int getInfantPassengerCount() { return infantPassengerCount; }
+   public String getDepartureDate() { return getCriteria() == null ? null : criteria.departureDate(); }
+   public String getDepartureAirportCode() { return getCriteria() == null ? null : criteria.departureAirportCode(); }
+   public boolean isEmergencyRowSeating() { return getCriteria() != null && criteria.emergencyRowSeating(); }
+   public String getReturnDate() { return getCriteria() == null ? null : criteria.returnDate(); }
+   public String getDestinationAirportCode() { return getCriteria() == null ? null : criteria.destinationAirportCode(); }
+   public String getSeatingClass() { return getCriteria() == null ? null : criteria.seatingClass(); }
+   public int getAdultPassengerCount() { return getCriteria() == null ? 0 : criteria.adultPassengerCount(); }
+   public int getChildPassengerCount() { return getCriteria() == null ? 0 : criteria.childPassengerCount(); }
+   public int getInfantPassengerCount() { return getCriteria() == null ? 0 : criteria.infantPassengerCount(); }
 }
\ No newline at end of file
@@ -0,0 +1,1009 @@
+package org.example;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stateless validator for flight search criteria in WorldWanderer website
+ * Applies the 11 business rules without touching any mutable state, so a single instance
+ * can be shared by any number of threads
+ * Airport codes and seating classes are resolved once to Airports and SeatingClass ids, and the
+ * rules compare ids rather than strings
+ * Optionally an AdaptiveRuleOrder reorders the conditions to short-circuit as early as possible,
+ * and a SearchResultCache answers repeated identical searches without re-running them.
+ * SearchMetrics, when attached and enabled, counts evaluations and rejections per condition and
+ * records the latency of every validate call. With a RouteIndex attached, condition 11 also
+ * requires the destination to be reachable from the departure airport within a number of stops.
+ */
+public final class FlightSearchValidator {
+
+   // Rows per fork/join leaf task; a multiple of 64 so tasks never share a result word
+   private static final int PARALLEL_BATCH_THRESHOLD = 1 << 14;
+
+   // Marks a date the adaptive path has not parsed yet; distinct from every epoch day and DateParser.INVALID
+   private static final long UNPARSED = Long.MAX_VALUE;
+
+   private static final SearchCondition[] CONDITIONS = SearchCondition.values();
+
+   // Order of the fixed chain, used when metrics are recorded one condition at a time:
+   // party rules, then the date rules, then airports
+   private static final int[] FIXED_ORDER = {
+      SearchCondition.PASSENGER_COUNT.ordinal(),    SearchCondition.CHILD_SEATING.ordinal(),
+      SearchCondition.INFANT_SEATING.ordinal(),     SearchCondition.CHILD_ADULT_RATIO.ordinal(),
+      SearchCondition.INFANT_ADULT_RATIO.ordinal(), SearchCondition.SEATING_CLASS.ordinal(),
+      SearchCondition.EMERGENCY_ROW_CLASS.ordinal(), SearchCondition.DATE_FORMAT.ordinal(),
+      SearchCondition.DEPARTURE_DATE.ordinal(),     SearchCondition.RETURN_DATE.ordinal(),
+      SearchCondition.AIRPORTS.ordinal()
+   };
+
+   /** Largest number of days either side of a date accepted by validateDateWindows */
+   public static final int MAX_FLEX_DAYS = 366;
+
+   // Largest count of any one passenger type; the total is capped at 9 by condition 1
+   static final int MAX_PASSENGERS = 9;
+
+   // Every SearchCondition bit
+   static final int ALL_CONDITIONS = (1 << CONDITIONS.length) - 1;
+
+   // Bits of the conditions that depend only on the party: 1-5, 9 and 10
+   static final int PARTY_CONDITIONS = ALL_CONDITIONS
+      & ~(SearchCondition.DEPARTURE_DATE.bit() | SearchCondition.DATE_FORMAT.bit()
+          | SearchCondition.RETURN_DATE.bit() | SearchCondition.AIRPORTS.bit());
+
+   // Conditions 1-5, 9 and 10 compiled into one bit per (adults, children, infants, class, emergency row)
+   private static final long[] PARTY_RULES = compilePartyRules();
+
+   private final AirportRegistry airports;
+   private final SearchClock clock;
+   private final AdaptiveRuleOrder ruleOrder;
+   private final SearchResultCache resultCache;
+   private final SearchMetrics metrics;
+   private final RouteIndex routes;
+   private final int routeStops;
+
+   /**
+    * Creates a validator using the built-in airport list and the system clock
+    */
+   public FlightSearchValidator() {
+      this(new AirportRegistry(Airports.defaults()), SearchClock.systemDefault());
+   }
+
+   /**
+    * Creates a validator using the given airport reference data and the system clock
+    * @param airports registry supplying the current airport snapshot
+    */
+   public FlightSearchValidator(AirportRegistry airports) {
+      this(airports, SearchClock.systemDefault());
+   }
+
+   /**
+    * Creates a validator using the built-in airport list and the given clock
+    * @param clock source of today's date for condition 6
+    */
+   public FlightSearchValidator(SearchClock clock) {
+      this(new AirportRegistry(Airports.defaults()), clock);
+   }
+
+   /**
+    * Creates a validator using the given airport reference data and clock
+    * @param airports registry supplying the current airport snapshot
+    * @param clock source of today's date for condition 6
+    */
+   public FlightSearchValidator(AirportRegistry airports, SearchClock clock) {
+      this(airports, clock, null, null, null, null, 0);
+   }
+
+   private FlightSearchValidator(AirportRegistry airports, SearchClock clock,
+                                 AdaptiveRuleOrder ruleOrder, SearchResultCache resultCache, SearchMetrics metrics,
+                                 RouteIndex routes, int routeStops) {
+      this.airports = airports;
+      this.clock = clock;
+      this.ruleOrder = ruleOrder;
+      this.resultCache = resultCache;
+      this.metrics = metrics;
+      this.routes = routes;
+      this.routeStops = routeStops;
+   }
+
+   /**
+    * Creates a validator with the same reference data and clock whose validate() evaluates the
+    * conditions in the order maintained by the given AdaptiveRuleOrder
+    * @param ruleOrder adaptive order shared by every thread using the returned validator
+    * @return the adaptive validator
+    */
+   public FlightSearchValidator withAdaptiveRuleOrder(AdaptiveRuleOrder ruleOrder) {
+      return new FlightSearchValidator(airports, clock, Objects.requireNonNull(ruleOrder, "ruleOrder"), resultCache, metrics,
+                                       routes, routeStops);
+   }
+
+   /**
+    * Creates a validator with the same reference data, clock and rule order whose validate()
+    * first looks the search up in the given cache
+    * @param resultCache cache shared by every thread using the returned validator
+    * @return the caching validator
+    */
+   public FlightSearchValidator withResultCache(SearchResultCache resultCache) {
+      return new FlightSearchValidator(airports, clock, ruleOrder, Objects.requireNonNull(resultCache, "resultCache"), metrics,
+                                       routes, routeStops);
+   }
+
+   /**
+    * Creates a validator with the same configuration whose validate() records into the given metrics
+    * While the metrics are enabled, conditions are evaluated one at a time so each can be counted;
+    * an adaptive order is followed but not sampled, and the compiled party-rule table is bypassed
+    * @param metrics metrics shared by every thread using the returned validator
+    * @return the instrumented validator
+    */
+   public FlightSearchValidator withMetrics(SearchMetrics metrics) {
+      return new FlightSearchValidator(airports, clock, ruleOrder, resultCache, Objects.requireNonNull(metrics, "metrics"),
+                                       routes, routeStops);
+   }
+
+   /**
+    * Creates a validator with the same configuration whose condition 11 also rejects airport pairs
+    * the route index cannot connect within the given number of stops
+    * A result cache is keyed on the search alone, so it should not be shared with a validator
+    * checking different routes.
+    * @param routes route index; airport ids are translated if the registry holds another snapshot
+    * @param maxStops most intermediate stops allowed, 0 for direct routes only
+    * @return the route-checking validator
+    * @throws IllegalArgumentException if maxStops is negative or above routes.maxStops()
+    */
+   public FlightSearchValidator withRouteIndex(RouteIndex routes, int maxStops) {
+      Objects.requireNonNull(routes, "routes");
+      if (maxStops < 0 || maxStops > routes.maxStops()) {
+         throw new IllegalArgumentException("Stops must be between 0 and " + routes.maxStops() + ": " + maxStops);
+      }
+      return new FlightSearchValidator(airports, clock, ruleOrder, resultCache, metrics, routes, maxStops);
+   }
+
+   /**
+    * @return the airport registry this validator checks condition 11 against
+    */
+   public AirportRegistry airports() {
+      return airports;
+   }
+
+   /**
+    * @return the clock this validator checks condition 6 against
+    */
+   public SearchClock clock() {
+      return clock;
+   }
+
+   /**
+    * @return the adaptive order used by validate(), or null when conditions run in their fixed order
+    */
+   public AdaptiveRuleOrder ruleOrder() {
+      return ruleOrder;
+   }
+
+   /**
+    * @return the cache consulted by validate(), or null when every search is evaluated
+    */
+   public SearchResultCache resultCache() {
+      return resultCache;
+   }
+
+   /**
+    * @return the metrics validate() records into, or null when it is not instrumented
+    */
+   public SearchMetrics metrics() {
+      return metrics;
+   }
+
+   /**
+    * @return the route index condition 11 checks, or null when any two valid airports are accepted
+    */
+   public RouteIndex routes() {
+      return routes;
+   }
+
+   /**
+    * Validates flight search parameters
+    * @param departureDate departure date in DD/MM/YYYY format
+    * @param departureAirportCode departure airport code (lowercase)
+    * @param emergencyRowSeating whether emergency row seating is requested
+    * @param returnDate return date in DD/MM/YYYY format
+    * @param destinationAirportCode destination airport code (lowercase)
+    * @param seatingClass seating class preference
+    * @param adultPassengerCount number of adult passengers
+    * @param childPassengerCount number of child passengers
+    * @param infantPassengerCount number of infant passengers
+    * @return the accepted search criteria, or null if any validation condition fails
+    */
+   public SearchCriteria validate(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                  String returnDate,       String destinationAirportCode, String seatingClass,
+                                  int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+
+      if (metrics == null || !metrics.isEnabled()) {
+         return lookup(departureDate, departureAirportCode, emergencyRowSeating,
+                       returnDate, destinationAirportCode, seatingClass,
+                       adultPassengerCount, childPassengerCount, infantPassengerCount);
+      }
+      long start = System.nanoTime();
+      SearchCriteria criteria = lookup(departureDate, departureAirportCode, emergencyRowSeating,
+                                       returnDate, destinationAirportCode, seatingClass,
+                                       adultPassengerCount, childPassengerCount, infantPassengerCount);
+      metrics.recordValidation(criteria != null, System.nanoTime() - start);
+      return criteria;
+   }
+
+   /**
+    * Answers from the result cache when one is configured, otherwise runs the validation chain
+    */
+   private SearchCriteria lookup(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                 String returnDate,       String destinationAirportCode, String seatingClass,
+                                 int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+
+      if (resultCache == null) {
+         return evaluate(departureDate, departureAirportCode, emergencyRowSeating,
+                         returnDate, destinationAirportCode, seatingClass,
+                         adultPassengerCount, childPassengerCount, infantPassengerCount);
+      }
+
+      // The day and snapshot are read before evaluating, so a result computed across a rollover or
+      // reload is stored under the old ones and never served afterwards
+      long today = clock.today();
+      Airports airportTable = airports.current();
+      SearchResultCache.Entry cached = resultCache.get(today, airportTable,
+                                                       departureDate, departureAirportCode, emergencyRowSeating,
+                                                       returnDate, destinationAirportCode, seatingClass,
+                                                       adultPassengerCount, childPassengerCount, infantPassengerCount);
+      if (cached != null) {
+         return cached.criteria();
+      }
+      SearchCriteria criteria = evaluate(departureDate, departureAirportCode, emergencyRowSeating,
+                                         returnDate, destinationAirportCode, seatingClass,
+                                         adultPassengerCount, childPassengerCount, infantPassengerCount);
+      resultCache.put(today, airportTable,
+                      departureDate, departureAirportCode, emergencyRowSeating,
+                      returnDate, destinationAirportCode, seatingClass,
+                      adultPassengerCount, childPassengerCount, infantPassengerCount, criteria);
+      return criteria;
+   }
+
+   /**
+    * Runs the validation chain, in the adaptive order when one is configured
+    */
+   private SearchCriteria evaluate(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                   String returnDate,       String destinationAirportCode, String seatingClass,
+                                   int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+
+      if (metrics != null && metrics.isEnabled()) {
+         return evaluateInstrumented(departureDate, departureAirportCode, emergencyRowSeating,
+                                     returnDate, destinationAirportCode, seatingClass,
+                                     adultPassengerCount, childPassengerCount, infantPassengerCount);
+      }
+
+      if (ruleOrder != null) {
+         return validateAdaptive(departureDate, departureAirportCode, emergencyRowSeating,
+                                 returnDate, destinationAirportCode, seatingClass,
+                                 adultPassengerCount, childPassengerCount, infantPassengerCount);
+      }
+
+      // Conditions 1-5, 9 and 10 in one table lookup
+      if (!passesPartyRules(adultPassengerCount, childPassengerCount, infantPassengerCount,
+                            SeatingClass.id(seatingClass), emergencyRowSeating)) {
+         return null;
+      }
+
+      // Each date is parsed exactly once and the epoch day is shared by conditions 6, 7 and 8
+      long departureDay = DateParser.parseEpochDay(departureDate);
+      if (!validateDepartureDate(departureDay)) {
+         return null;
+      }
+
+      long returnDay = DateParser.parseEpochDay(returnDate);
+      if (!validateDateFormat(departureDay) || !validateDateFormat(returnDay)) {
+         return null;
+      }
+
+      if (!validateReturnDate(departureDay, returnDay)) {
+         return null;
+      }
+
+      // Both codes are resolved against the same airport snapshot
+      Airports airportTable = airports.current();
+      if (!validateAirportCodes(airportTable, airportTable.id(departureAirportCode), airportTable.id(destinationAirportCode))) {
+         return null;
+      }
+
+      // All validations passed
+      return new SearchCriteria(departureDate, departureAirportCode, emergencyRowSeating,
+                                returnDate, destinationAirportCode, seatingClass,
+                                adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                departureDay, returnDay);
+   }
+
+   /**
+    * Validates in the adaptive order, or on a sampled call evaluates and times every condition
+    * Dates are parsed only when the first date condition is reached
+    */
+   private SearchCriteria validateAdaptive(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                           String returnDate,       String destinationAirportCode, String seatingClass,
+                                           int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+
+      int seatingClassId = SeatingClass.id(seatingClass);
+      Airports airportTable = airports.current();
+      long departureDay = UNPARSED;
+      long returnDay = UNPARSED;
+
+      if (ruleOrder.shouldSample()) {
+         // Whichever date condition runs first pays for parsing, so each is charged the parse time
+         long parseStart = System.nanoTime();
+         departureDay = DateParser.parseEpochDay(departureDate);
+         returnDay = DateParser.parseEpochDay(returnDate);
+         long parseNanos = System.nanoTime() - parseStart;
+
+         int failures = 0;
+         for (int condition = 0; condition < AdaptiveRuleOrder.CONDITION_COUNT; condition++) {
+            long start = System.nanoTime();
+            boolean passed = passes(condition, departureDay, departureAirportCode, emergencyRowSeating,
+                                    returnDay, destinationAirportCode, seatingClassId,
+                                    adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable);
+            long elapsed = System.nanoTime() - start;
+            ruleOrder.recordCost(condition, isDateCondition(condition) ? elapsed + parseNanos : elapsed);
+            if (!passed) {
+               failures |= 1 << condition;
+            }
+         }
+         ruleOrder.recordSample(failures);
+         if (failures != 0) {
+            return null;
+         }
+      } else {
+         for (int condition : ruleOrder.currentOrder()) {
+            if (departureDay == UNPARSED && isDateCondition(condition)) {
+               departureDay = DateParser.parseEpochDay(departureDate);
+               returnDay = DateParser.parseEpochDay(returnDate);
+            }
+            if (!passes(condition, departureDay, departureAirportCode, emergencyRowSeating,
+                        returnDay, destinationAirportCode, seatingClassId,
+                        adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable)) {
+               return null;
+            }
+         }
+      }
+
+      // All validations passed
+      return new SearchCriteria(departureDate, departureAirportCode, emergencyRowSeating,
+                                returnDate, destinationAirportCode, seatingClass,
+                                adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                departureDay, returnDay);
+   }
+
+   /**
+    * Evaluates one condition at a time, counting each evaluation and the condition that rejects
+    * Follows the adaptive order without sampling when one is configured, otherwise FIXED_ORDER
+    */
+   private SearchCriteria evaluateInstrumented(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                               String returnDate,       String destinationAirportCode, String seatingClass,
+                                               int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+
+      int seatingClassId = SeatingClass.id(seatingClass);
+      Airports airportTable = airports.current();
+      long departureDay = UNPARSED;
+      long returnDay = UNPARSED;
+
+      for (int condition : ruleOrder == null ? FIXED_ORDER : ruleOrder.currentOrder()) {
+         if (departureDay == UNPARSED && isDateCondition(condition)) {
+            departureDay = DateParser.parseEpochDay(departureDate);
+            returnDay = DateParser.parseEpochDay(returnDate);
+         }
+         metrics.recordEvaluation(condition);
+         if (!passes(condition, departureDay, departureAirportCode, emergencyRowSeating,
+                     returnDay, destinationAirportCode, seatingClassId,
+                     adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable)) {
+            metrics.recordRejection(condition);
+            return null;
+         }
+      }
+
+      return new SearchCriteria(departureDate, departureAirportCode, emergencyRowSeating,
+                                returnDate, destinationAirportCode, seatingClass,
+                                adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                departureDay, returnDay);
+   }
+
+   /**
+    * Evaluates a single condition, identified by its SearchCondition ordinal
+    * As in check(), an unparseable date only fails condition 7, so whichever order the conditions
+    * run in a malformed date is attributed to the format rule
+    */
+   private boolean passes(int condition,
+                          long departureDay,       String departureAirportCode,   boolean emergencyRowSeating,
+                          long returnDay,          String destinationAirportCode, int seatingClassId,
+                          int adultPassengerCount, int childPassengerCount,       int infantPassengerCount,
+                          Airports airportTable) {
+      switch (CONDITIONS[condition]) {
+         case PASSENGER_COUNT:
+            return validatePassengerCounts(adultPassengerCount, childPassengerCount, infantPassengerCount);
+         case CHILD_SEATING:
+            return validateChildEmergencyRowBusinessRules(childPassengerCount, emergencyRowSeating, seatingClassId);
+         case INFANT_SEATING:
+            return validateInfantEmergencyRowBusinessRules(infantPassengerCount, emergencyRowSeating, seatingClassId);
+         case CHILD_ADULT_RATIO:
+            return validateChildAdultRatio(childPassengerCount, adultPassengerCount);
+         case INFANT_ADULT_RATIO:
+            return validateInfantAdultRatio(infantPassengerCount, adultPassengerCount);
+         case DEPARTURE_DATE:
+            return !validateDateFormat(departureDay) || validateDepartureDate(departureDay);
+         case DATE_FORMAT:
+            return validateDateFormat(departureDay) && validateDateFormat(returnDay);
+         case RETURN_DATE:
+            return !validateDateFormat(departureDay) || !validateDateFormat(returnDay)
+                || validateReturnDate(departureDay, returnDay);
+         case SEATING_CLASS:
+            return validateSeatingClass(seatingClassId);
+         case EMERGENCY_ROW_CLASS:
+            return validateEmergencyRowSeatingClass(emergencyRowSeating, seatingClassId);
+         default:
+            return validateAirportCodes(airportTable, airportTable.id(departureAirportCode), airportTable.id(destinationAirportCode));
+      }
+   }
+
+   private static boolean isDateCondition(int condition) {
+      return condition == SearchCondition.DEPARTURE_DATE.ordinal()
+          || condition == SearchCondition.DATE_FORMAT.ordinal()
+          || condition == SearchCondition.RETURN_DATE.ordinal();
+   }
+
+   /**
+    * Validates every combination of departure and return dates within flexible windows in one call
+    * Takes the same parameters as validate plus the window sizes. The date-independent conditions
+    * are evaluated once; condition 7 applies to the two given dates, and conditions 6 and 8 reduce to
+    * bounds on epoch days, so each window is clipped with integer arithmetic rather than validating
+    * every pair. Shifted dates are always well-formed, so they need no further format check.
+    * @param departureFlexDays days either side of the departure date, 0 to MAX_FLEX_DAYS
+    * @param returnFlexDays days either side of the return date, 0 to MAX_FLEX_DAYS
+    * @return the valid pairs, empty if any date-independent condition or condition 7 fails
+    * @throws IllegalArgumentException if a window size is out of range
+    */
+   public DatePairs validateDateWindows(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                        String returnDate,       String destinationAirportCode, String seatingClass,
+                                        int adultPassengerCount, int childPassengerCount,       int infantPassengerCount,
+                                        int departureFlexDays,   int returnFlexDays) {
+
+      if (departureFlexDays < 0 || departureFlexDays > MAX_FLEX_DAYS || returnFlexDays < 0 || returnFlexDays > MAX_FLEX_DAYS) {
+         throw new IllegalArgumentException("Flexible days must be between 0 and " + MAX_FLEX_DAYS
+                                            + ": " + departureFlexDays + ", " + returnFlexDays);
+      }
+
+      // Conditions 1-5, 9, 10 and 11 do not depend on the dates
+      if (!passesPartyRules(adultPassengerCount, childPassengerCount, infantPassengerCount,
+                            SeatingClass.id(seatingClass), emergencyRowSeating)) {
+         return DatePairs.EMPTY;
+      }
+      Airports airportTable = airports.current();
+      if (!validateAirportCodes(airportTable, airportTable.id(departureAirportCode), airportTable.id(destinationAirportCode))) {
+         return DatePairs.EMPTY;
+      }
+
+      // Condition 7
+      long departureDay = DateParser.parseEpochDay(departureDate);
+      long returnDay = DateParser.parseEpochDay(returnDate);
+      if (!validateDateFormat(departureDay) || !validateDateFormat(returnDay)) {
+         return DatePairs.EMPTY;
+      }
+
+      // Condition 6 clips the departure window; condition 8 starts each return window at its departure
+      long firstDeparture = Math.max(Math.max(departureDay - departureFlexDays, clock.today()), DateParser.MIN_EPOCH_DAY);
+      long lastDeparture = Math.min(departureDay + departureFlexDays, DateParser.MAX_EPOCH_DAY);
+      long firstReturn = Math.max(returnDay - returnFlexDays, DateParser.MIN_EPOCH_DAY);
+      long lastReturn = Math.min(returnDay + returnFlexDays, DateParser.MAX_EPOCH_DAY);
+
+      int count = 0;
+      for (long departure = firstDeparture; departure <= lastDeparture; departure++) {
+         count += (int) Math.max(0, lastReturn - Math.max(firstReturn, departure) + 1);
+      }
+      if (count == 0) {
+         return DatePairs.EMPTY;
+      }
+
+      long[] departures = new long[count];
+      long[] returns = new long[count];
+      int pair = 0;
+      for (long departure = firstDeparture; departure <= lastDeparture; departure++) {
+         for (long ret = Math.max(firstReturn, departure); ret <= lastReturn; ret++) {
+            departures[pair] = departure;
+            returns[pair] = ret;
+            pair++;
+         }
+      }
+      return new DatePairs(departures, returns);
+   }
+
+   /**
+    * Evaluates every validation condition and reports all that fail, in a single pass
+    * Takes the same parameters as validate; nothing is allocated, so the success path is free of garbage.
+    * Condition 6 is only checked when the departure date parses and condition 8 only when both
+    * dates parse; an unparseable date is reported as condition 7.
+    * @return a mask of SearchCondition bits, 0 when the search is valid
+    */
+   public int check(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                    String returnDate,       String destinationAirportCode, String seatingClass,
+                    int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+
+      Airports airportTable = airports.current();
+      return checkResolved(DateParser.parseEpochDay(departureDate), airportTable.id(departureAirportCode), emergencyRowSeating,
+                           DateParser.parseEpochDay(returnDate),    airportTable.id(destinationAirportCode), SeatingClass.id(seatingClass),
+                           adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable);
+   }
+
+   /**
+    * Evaluates every validation condition on already decoded fields and reports all that fail
+    * For callers that decode fields themselves, e.g. straight from bytes: dates are DateParser epoch
+    * days, the seating class is a SeatingClass id and airport ids come from the given snapshot
+    * @param airportTable the airports snapshot the airport ids were resolved against
+    * @return a mask of SearchCondition bits, 0 when the search is valid
+    */
+   public int checkResolved(long departureDay,       int departureAirport,   boolean emergencyRowSeating,
+                            long returnDay,          int destinationAirport, int seatingClassId,
+                            int adultPassengerCount, int childPassengerCount, int infantPassengerCount,
+                            Airports airportTable) {
+      return checkResolved(ALL_CONDITIONS, departureDay, departureAirport, emergencyRowSeating,
+                           returnDay, destinationAirport, seatingClassId,
+                           adultPassengerCount, childPassengerCount, infantPassengerCount, airportTable);
+   }
+
+   /**
+    * Evaluates only the given conditions on already decoded fields, as used by SearchBuilder to
+    * re-check the conditions that depend on a changed field
+    * @param conditions mask of SearchCondition bits to evaluate
+    * @return the failing conditions among those evaluated
+    */
+   int checkResolved(int conditions,
+                     long departureDay,       int departureAirport,   boolean emergencyRowSeating,
+                     long returnDay,          int destinationAirport, int seatingClassId,
+                     int adultPassengerCount, int childPassengerCount, int infantPassengerCount,
+                     Airports airportTable) {
+      int failures = 0;
+
+      if ((conditions & PARTY_CONDITIONS) != 0) {
+         failures |= partyFailures(adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                   seatingClassId, emergencyRowSeating) & conditions;
+      }
+
+      if (SearchCondition.DATE_FORMAT.isIn(conditions)
+            && (!validateDateFormat(departureDay) || !validateDateFormat(returnDay))) {
+         failures |= SearchCondition.DATE_FORMAT.bit();
+      }
+
+      if (SearchCondition.DEPARTURE_DATE.isIn(conditions)
+            && validateDateFormat(departureDay) && !validateDepartureDate(departureDay)) {
+         failures |= SearchCondition.DEPARTURE_DATE.bit();
+      }
+
+      if (SearchCondition.RETURN_DATE.isIn(conditions)
+            && validateDateFormat(departureDay) && validateDateFormat(returnDay) && !validateReturnDate(departureDay, returnDay)) {
+         failures |= SearchCondition.RETURN_DATE.bit();
+      }
+
+      if (SearchCondition.AIRPORTS.isIn(conditions)
+            && !validateAirportCodes(airportTable, departureAirport, destinationAirport)) {
+         failures |= SearchCondition.AIRPORTS.bit();
+      }
+
+      return failures;
+   }
+
+   /**
+    * Validates already decoded fields, stopping at the first failing condition
+    * The allocation-free counterpart of validate for callers that decode fields themselves; it
+    * applies the eleven conditions directly, without the result cache, metrics or adaptive order.
+    * Takes the same parameters as checkResolved.
+    * @return true if checkResolved would report no failure
+    */
+   public boolean validateResolved(long departureDay,       int departureAirport,   boolean emergencyRowSeating,
+                                   long returnDay,          int destinationAirport, int seatingClassId,
+                                   int adultPassengerCount, int childPassengerCount, int infantPassengerCount,
+                                   Airports airportTable) {
+      return passesPartyRules(adultPassengerCount, childPassengerCount, infantPassengerCount, seatingClassId, emergencyRowSeating)
+          && validateDateFormat(departureDay) && validateDateFormat(returnDay)
+          && validateDepartureDate(departureDay)
+          && validateReturnDate(departureDay, returnDay)
+          && validateAirportCodes(airportTable, departureAirport, destinationAirport);
+   }
+
+   /**
+    * Evaluates every condition of a multi-city itinerary and reports all that fail
+    * Conditions 1-5, 9 and 10 apply once to the party. Every leg date must parse (condition 7) and
+    * every leg must connect two different valid airports (condition 11). Condition 6 applies to the
+    * first leg and condition 8 is generalized to legs: each leg cannot depart before the previous one.
+    * Nothing is allocated, as for check.
+    * @return a mask of SearchCondition bits, 0 when the itinerary is valid
+    * @throws IllegalArgumentException if the itinerary has no legs
+    */
+   public int checkItinerary(Itinerary itinerary) {
+      int legs = requireLegs(itinerary);
+      int failures = partyFailures(itinerary.adultPassengerCount, itinerary.childPassengerCount, itinerary.infantPassengerCount,
+                                   SeatingClass.id(itinerary.seatingClass), itinerary.emergencyRowSeating);
+
+      Airports airportTable = airports.current();
+      long previousDay = DateParser.INVALID;
+      for (int leg = 0; leg < legs; leg++) {
+         long day = DateParser.parseEpochDay(itinerary.dates[leg]);
+         if (!validateDateFormat(day)) {
+            failures |= SearchCondition.DATE_FORMAT.bit();
+         } else if (leg == 0 && !validateDepartureDate(day)) {
+            failures |= SearchCondition.DEPARTURE_DATE.bit();
+         } else if (leg > 0 && validateDateFormat(previousDay) && !validateReturnDate(previousDay, day)) {
+            failures |= SearchCondition.RETURN_DATE.bit();
+         }
+         previousDay = day;
+
+         if (!validateAirportCodes(airportTable, airportTable.id(itinerary.originAirportCodes[leg]),
+                                   airportTable.id(itinerary.destinationAirportCodes[leg]))) {
+            failures |= SearchCondition.AIRPORTS.bit();
+         }
+      }
+      return failures;
+   }
+
+   /**
+    * Validates a multi-city itinerary, stopping at the first failing condition
+    * The party is looked up once in the compiled rule table and each leg then adds only one date
+    * parse, two airport lookups and a comparison with the previous leg's date
+    * @return true if checkItinerary would report no failure
+    * @throws IllegalArgumentException if the itinerary has no legs
+    */
+   public boolean validateItinerary(Itinerary itinerary) {
+      int legs = requireLegs(itinerary);
+      if (!passesPartyRules(itinerary.adultPassengerCount, itinerary.childPassengerCount, itinerary.infantPassengerCount,
+                            SeatingClass.id(itinerary.seatingClass), itinerary.emergencyRowSeating)) {
+         return false;
+      }
+
+      // Each leg departs no earlier than today (condition 6) or than the previous leg (condition 8)
+      Airports airportTable = airports.current();
+      long earliestDay = clock.today();
+      for (int leg = 0; leg < legs; leg++) {
+         long day = DateParser.parseEpochDay(itinerary.dates[leg]);
+         if (!validateDateFormat(day) || day < earliestDay) {
+            return false;
+         }
+         if (!validateAirportCodes(airportTable, airportTable.id(itinerary.originAirportCodes[leg]),
+                                   airportTable.id(itinerary.destinationAirportCodes[leg]))) {
+            return false;
+         }
+         earliestDay = day;
+      }
+      return true;
+   }
+
+   private static int requireLegs(Itinerary itinerary) {
+      int legs = itinerary.legs();
+      if (legs == 0) {
+         throw new IllegalArgumentException("Itinerary has no legs");
+      }
+      return legs;
+   }
+
+   /**
+    * Validates every search in a columnar batch
+    * @param batch searches to validate
+    * @return a bitset with bit i set when row i passes all validation conditions
+    */
+   public long[] validateBatch(SearchBatch batch) {
+      long[] results = new long[(batch.size() + 63) >>> 6];
+      validateBatch(batch, 0, batch.size(), results);
+      return results;
+   }
+
+   /**
+    * Validates rows from (inclusive) to to (exclusive) of a columnar batch
+    * The eleven conditions are combined without branching so the loop stays tight; only the
+    * bits for the given rows are written
+    * @param batch searches to validate
+    * @param from first row to validate
+    * @param to row after the last row to validate
+    * @param results bitset receiving bit i set when row i passes all validation conditions
+    */
+   public void validateBatch(SearchBatch batch, int from, int to, long[] results) {
+      Objects.checkFromToIndex(from, to, batch.size());
+      validateRows(batch, from, to, results, clock.today(), batchAirports(batch));
+   }
+
+   /**
+    * Validates every search in a columnar batch, splitting the rows across a fork/join pool
+    * Results are identical to validateBatch and in row order; all rows are checked against the
+    * same current date and airport snapshot
+    * @param batch searches to validate
+    * @param pool pool that runs the validation tasks
+    * @return a bitset with bit i set when row i passes all validation conditions
+    */
+   public long[] validateBatchParallel(SearchBatch batch, ForkJoinPool pool) {
+      long[] results = new long[(batch.size() + 63) >>> 6];
+      pool.invoke(new BatchTask(batch, 0, batch.size(), results, clock.today(), batchAirports(batch)));
+      return results;
+   }
+
+   /**
+    * Validates every search in a columnar batch using the common fork/join pool
+    * @param batch searches to validate
+    * @return a bitset with bit i set when row i passes all validation conditions
+    */
+   public long[] validateBatchParallel(SearchBatch batch) {
+      return validateBatchParallel(batch, ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Fork/join task that halves its row range on 64-row boundaries until it is small enough to
+    * validate directly, so no two tasks write the same result word
+    */
+   @SuppressWarnings("serial")
+   private final class BatchTask extends RecursiveAction {
+      private final SearchBatch batch;
+      private final int from;
+      private final int to;
+      private final long[] results;
+      private final long today;
+      private final Airports airportTable;
+
+      BatchTask(SearchBatch batch, int from, int to, long[] results, long today, Airports airportTable) {
+         this.batch = batch;
+         this.from = from;
+         this.to = to;
+         this.results = results;
+         this.today = today;
+         this.airportTable = airportTable;
+      }
+
+      @Override
+      protected void compute() {
+         if (to - from <= PARALLEL_BATCH_THRESHOLD) {
+            validateRows(batch, from, to, results, today, airportTable);
+            return;
+         }
+         int middle = (from + ((to - from) >>> 1)) & ~63;
+         invokeAll(new BatchTask(batch, from, middle, results, today, airportTable),
+                   new BatchTask(batch, middle, to, results, today, airportTable));
+      }
+   }
+
+   /**
+    * @return the snapshot the batch's airport ids were resolved against, or the current one
+    */
+   private Airports batchAirports(SearchBatch batch) {
+      Airports batchAirports = batch.airports();
+      return batchAirports != null ? batchAirports : airports.current();
+   }
+
+   private void validateRows(SearchBatch batch, int from, int to, long[] results, long today, Airports airportTable) {
+      long[] departureDays = batch.departureDays;
+      int[] departureAirports = batch.departureAirports;
+      boolean[] emergencyRowSeating = batch.emergencyRowSeating;
+      long[] returnDays = batch.returnDays;
+      int[] destinationAirports = batch.destinationAirports;
+      int[] seatingClasses = batch.seatingClasses;
+      int[] adults = batch.adultPassengerCounts;
+      int[] children = batch.childPassengerCounts;
+      int[] infants = batch.infantPassengerCounts;
+      int airportCount = airportTable.count();
+      int seatingClassCount = SeatingClass.count();
+      int economy = SeatingClass.ECONOMY.ordinal();
+      int business = SeatingClass.BUSINESS.ordinal();
+      int first = SeatingClass.FIRST.ordinal();
+
+      for (int i = from; i < to; i++) {
+         int adultCount = adults[i];
+         int childCount = children[i];
+         int infantCount = infants[i];
+         int totalPassengers = adultCount + childCount + infantCount;
+         boolean emergencyRow = emergencyRowSeating[i];
+         int seatingClass = seatingClasses[i];
+         long departureDay = departureDays[i];
+         long returnDay = returnDays[i];
+         int departureAirport = departureAirports[i];
+         int destinationAirport = destinationAirports[i];
+
+         boolean valid = (totalPassengers >= 1) & (totalPassengers <= MAX_PASSENGERS)                     // Condition 1
+               & ((adultCount | childCount | infantCount) >= 0)
+               & !((childCount > 0) & (emergencyRow | (seatingClass == first)))                           // Condition 2
+               & !((infantCount > 0) & (emergencyRow | (seatingClass == business)))                       // Condition 3
+               & !((adultCount == 0) & (childCount > 0)) & (childCount <= adultCount * 2)                 // Condition 4
+               & (infantCount <= adultCount)                                                              // Condition 5
+               & (departureDay >= today)                                                                  // Condition 6
+               & (departureDay != DateParser.INVALID) & (returnDay != DateParser.INVALID)                 // Condition 7
+               & (returnDay >= departureDay)                                                              // Condition 8
+               & (seatingClass >= 0) & (seatingClass < seatingClassCount)                                 // Condition 9
+               & !(emergencyRow & (seatingClass != economy))                                              // Condition 10
+               & (departureAirport >= 0) & (departureAirport < airportCount)                              // Condition 11
+               & (destinationAirport >= 0) & (destinationAirport < airportCount)
+               & (departureAirport != destinationAirport);
+         if (valid && routes != null) {
+            valid = routes.isReachable(airportTable, departureAirport, destinationAirport, routeStops);
+         }
+
+         long bit = 1L << i;
+         results[i >>> 6] = (results[i >>> 6] & ~bit) | (valid ? bit : 0L);
+      }
+   }
+
+   /**
+    * Looks up conditions 1-5, 9 and 10 in the compiled table
+    * Counts above 9 or below 0 and unknown seating classes are outside the table and fail condition 1 or 9
+    */
+   private static boolean passesPartyRules(int adultCount, int childCount, int infantCount,
+                                           int seatingClass, boolean emergencyRow) {
+      if ((adultCount | childCount | infantCount) < 0 || adultCount > MAX_PASSENGERS
+            || childCount > MAX_PASSENGERS || infantCount > MAX_PASSENGERS || !SeatingClass.isValid(seatingClass)) {
+         return false;
+      }
+      int index = partyIndex(adultCount, childCount, infantCount, seatingClass, emergencyRow);
+      return (PARTY_RULES[index >>> 6] & (1L << index)) != 0;
+   }
+
+   /**
+    * Evaluates conditions 1-5, 9 and 10 one by one and reports all that fail
+    */
+   private static int partyFailures(int adultCount, int childCount, int infantCount,
+                                    int seatingClass, boolean emergencyRow) {
+      int failures = 0;
+
+      if (!validatePassengerCounts(adultCount, childCount, infantCount)) {
+         failures |= SearchCondition.PASSENGER_COUNT.bit();
+      }
+
+      if (!validateChildEmergencyRowBusinessRules(childCount, emergencyRow, seatingClass)) {
+         failures |= SearchCondition.CHILD_SEATING.bit();
+      }
+
+      if (!validateInfantEmergencyRowBusinessRules(infantCount, emergencyRow, seatingClass)) {
+         failures |= SearchCondition.INFANT_SEATING.bit();
+      }
+
+      if (!validateChildAdultRatio(childCount, adultCount)) {
+         failures |= SearchCondition.CHILD_ADULT_RATIO.bit();
+      }
+
+      if (!validateInfantAdultRatio(infantCount, adultCount)) {
+         failures |= SearchCondition.INFANT_ADULT_RATIO.bit();
+      }
+
+      if (!validateSeatingClass(seatingClass)) {
+         failures |= SearchCondition.SEATING_CLASS.bit();
+      }
+
+      if (!validateEmergencyRowSeatingClass(emergencyRow, seatingClass)) {
+         failures |= SearchCondition.EMERGENCY_ROW_CLASS.bit();
+      }
+
+      return failures;
+   }
+
+   private static int partyIndex(int adultCount, int childCount, int infantCount, int seatingClass, boolean emergencyRow) {
+      int passengers = (adultCount * (MAX_PASSENGERS + 1) + childCount) * (MAX_PASSENGERS + 1) + infantCount;
+      return (passengers * SeatingClass.count() + seatingClass) * 2 + (emergencyRow ? 1 : 0);
+   }
+
+   /**
+    * Evaluates conditions 1-5, 9 and 10 for every party of 0-9 adults, children and infants in every
+    * seating class, with and without an emergency row, and packs the outcomes into a bitset
+    */
+   private static long[] compilePartyRules() {
+      int entries = partyIndex(MAX_PASSENGERS, MAX_PASSENGERS, MAX_PASSENGERS, SeatingClass.count() - 1, true) + 1;
+      long[] table = new long[(entries + 63) >>> 6];
+      for (int adults = 0; adults <= MAX_PASSENGERS; adults++) {
+         for (int children = 0; children <= MAX_PASSENGERS; children++) {
+            for (int infants = 0; infants <= MAX_PASSENGERS; infants++) {
+               for (int seatingClass = 0; seatingClass < SeatingClass.count(); seatingClass++) {
+                  for (int row = 0; row < 2; row++) {
+                     boolean emergencyRow = row == 1;
+                     boolean valid = validatePassengerCounts(adults, children, infants)
+                        && validateChildEmergencyRowBusinessRules(children, emergencyRow, seatingClass)
+                        && validateInfantEmergencyRowBusinessRules(infants, emergencyRow, seatingClass)
+                        && validateChildAdultRatio(children, adults)
+                        && validateInfantAdultRatio(infants, adults)
+                        && validateSeatingClass(seatingClass)
+                        && validateEmergencyRowSeatingClass(emergencyRow, seatingClass);
+                     if (valid) {
+                        int index = partyIndex(adults, children, infants, seatingClass, emergencyRow);
+                        table[index >>> 6] |= 1L << index;
+                     }
+                  }
+               }
+            }
+         }
+      }
+      return table;
+   }
+
+   /**
+    * Condition 1: Validate total passenger count (1-9 passengers, none of them a negative count)
+    */
+   private static boolean validatePassengerCounts(int adultCount, int childCount, int infantCount) {
+      if (adultCount < 0 || childCount < 0 || infantCount < 0) {
+         return false;
+      }
+      int totalPassengers = adultCount + childCount + infantCount;
+      return totalPassengers >= 1 && totalPassengers <= MAX_PASSENGERS;
+   }
+
+   /**
+    * Condition 2: Children cannot be seated in emergency row or first class
+    */
+   private static boolean validateChildEmergencyRowBusinessRules(int childCount, boolean emergencyRow, int seatingClass) {
+      if (childCount > 0 && (emergencyRow || seatingClass == SeatingClass.FIRST.ordinal())) {
+         return false;
+      }
+      return true;
+   }
+
+   /**
+    * Condition 3: Infants cannot be seated in emergency row or business class
+    */
+   private static boolean validateInfantEmergencyRowBusinessRules(int infantCount, boolean emergencyRow, int seatingClass) {
+      if (infantCount > 0 && (emergencyRow || seatingClass == SeatingClass.BUSINESS.ordinal())) {
+         return false;
+      }
+      return true;
+   }
+
+   /**
+    * Condition 4: Up to 2 children per adult (children must be seated next to adults)
+    */
+   private static boolean validateChildAdultRatio(int childCount, int adultCount) {
+      if (adultCount == 0 && childCount > 0) {
+         return false; // No adults to accompany children
+      }
+      return childCount <= (adultCount * 2);
+   }
+
+   /**
+    * Condition 5: One infant per adult (infants sit on adult's lap)
+    */
+   private static boolean validateInfantAdultRatio(int infantCount, int adultCount) {
+      return infantCount <= adultCount;
+   }
+
+   /**
+    * Condition 6: Departure date cannot be in the past
+    */
+   private boolean validateDepartureDate(long departureDay) {
+      return departureDay != DateParser.INVALID && departureDay >= clock.today();
+   }
+
+   /**
+    * Condition 7: Validate date format DD/MM/YYYY and ensure valid date
+    */
+   private static boolean validateDateFormat(long epochDay) {
+      return epochDay != DateParser.INVALID;
+   }
+
+   /**
+    * Condition 8: Return date cannot be before departure date
+    */
+   private static boolean validateReturnDate(long departureDay, long returnDay) {
+      return departureDay != DateParser.INVALID && returnDay != DateParser.INVALID && returnDay >= departureDay;
+   }
+
+   /**
+    * Condition 9: Seating class must be valid
+    */
+   private static boolean validateSeatingClass(int seatingClass) {
+      return SeatingClass.isValid(seatingClass);
+   }
+
+   /**
+    * Condition 10: Only economy class seating can have an emergency row (all classes of seating can be non-emergency)
+    */
+   private static boolean validateEmergencyRowSeatingClass(boolean emergencyRow, int seatingClass) {
+      if (emergencyRow && seatingClass != SeatingClass.ECONOMY.ordinal()) {
+         return false;
+      }
+      return true;
+   }
+
+   /**
+    * Condition 11: Validate airport codes and ensure they are different, and connected when a route index is attached
+    */
+   private boolean validateAirportCodes(Airports airportTable, int departureAirport, int destinationAirport) {
+      boolean validAirports = airportTable.isValid(departureAirport) && airportTable.isValid(destinationAirport);
+      boolean differentAirports = departureAirport != destinationAirport;
+      return validAirports && differentAirports
+          && (routes == null || routes.isReachable(airportTable, departureAirport, destinationAirport, routeStops));
+   }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package org.example;
+
+/**
+ * Multi-city trip of up to MAX_LEGS one-way legs sharing one travelling party
+ * Legs are held in fixed parallel arrays so an itinerary can be cleared and refilled for every
+ * request without allocating. Validate it with FlightSearchValidator.checkItinerary or
+ * validateItinerary.
+ */
+public final class Itinerary {
+
+   /**
+    * Most legs in one itinerary
+    */
+   public static final int MAX_LEGS = 6;
+
+   final String[] dates = new String[MAX_LEGS];
+   final String[] originAirportCodes = new String[MAX_LEGS];
+   final String[] destinationAirportCodes = new String[MAX_LEGS];
+   private int legs;
+
+   String seatingClass;
+   boolean emergencyRowSeating;
+   int adultPassengerCount;
+   int childPassengerCount;
+   int infantPassengerCount;
+
+   /**
+    * Sets the travelling party, whose passenger and class rules apply to the whole trip
+    * @return this itinerary
+    */
+   public Itinerary party(String seatingClass,       boolean emergencyRowSeating,
+                          int adultPassengerCount,   int childPassengerCount, int infantPassengerCount) {
+      this.seatingClass = seatingClass;
+      this.emergencyRowSeating = emergencyRowSeating;
+      this.adultPassengerCount = adultPassengerCount;
+      this.childPassengerCount = childPassengerCount;
+      this.infantPassengerCount = infantPassengerCount;
+      return this;
+   }
+
+   /**
+    * Appends a leg; legs are flown in the order they are added
+    * @param date departure date of the leg as DD/MM/YYYY
+    * @return this itinerary
+    * @throws IllegalStateException if the itinerary already has MAX_LEGS legs
+    */
+   public Itinerary addLeg(String date, String originAirportCode, String destinationAirportCode) {
+      if (legs == MAX_LEGS) {
+         throw new IllegalStateException("Itinerary cannot have more than " + MAX_LEGS + " legs");
+      }
+      dates[legs] = date;
+      originAirportCodes[legs] = originAirportCode;
+      destinationAirportCodes[legs] = destinationAirportCode;
+      legs++;
+      return this;
+   }
+
+   /**
+    * @return the number of legs
+    */
+   public int legs() {
+      return legs;
+   }
+
+   /**
+    * Removes every leg and the party so the itinerary can be reused
+    */
+   public void clear() {
+      for (int leg = 0; leg < legs; leg++) {
+         dates[leg] = null;
+         originAirportCodes[leg] = null;
+         destinationAirportCodes[leg] = null;
+      }
+      legs = 0;
+      party(null, false, 0, 0, 0);
+   }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package org.example;
+
+/**
+ * Passenger types priced separately by the fare search
+ * The ordinal doubles as the passenger type id stored in PricingUnits
+ */
+public enum PassengerType {
+   ADULT,
+   CHILD,
+   INFANT;
+
+   private static final PassengerType[] VALUES = values();
+
+   /**
+    * @return the number of passenger types; valid ids are 0 to count() - 1
+    */
+   public static int count() {
+      return VALUES.length;
+   }
+
+   /**
+    * @param id passenger type id
+    * @return the passenger type for a valid id
+    */
+   public static PassengerType fromId(int id) {
+      return VALUES[id];
+   }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package org.example;
+
+/**
+ * Expands accepted searches into pricing units for the fare search
+ * Every accepted search yields one unit per leg for each passenger type it carries, all in the
+ * search's seating class. Units are written into a caller-owned PricingUnits buffer; resolving the
+ * airport codes and seating class reads lookup tables, so no object is allocated per search or unit.
+ */
+public final class PricingUnitGenerator {
+
+   private final AirportRegistry airports;
+
+   /**
+    * @param airports registry whose current snapshot resolves airport codes for an empty buffer
+    */
+   public PricingUnitGenerator(AirportRegistry airports) {
+      this.airports = airports;
+   }
+
+   /**
+    * Creates a generator resolving airports the same way as the given validator
+    */
+   public PricingUnitGenerator(FlightSearchValidator validator) {
+      this(validator.airports());
+   }
+
+   /**
+    * Appends the pricing units of an accepted search
+    * Airport ids refer to units.airports(), which is fixed by the first search after clear()
+    * @param accepted criteria returned by FlightSearchValidator.validate
+    * @param units buffer receiving the units
+    * @return the number of units added, at most PricingUnits.MAX_UNITS_PER_SEARCH
+    * @throws IllegalStateException if the units do not fit in the buffer, or an airport of the search is
+    *         missing from units.airports(); the buffer is then left unchanged
+    */
+   public int generate(SearchCriteria accepted, PricingUnits units) {
+      int adults = accepted.adultPassengerCount();
+      int children = accepted.childPassengerCount();
+      int infants = accepted.infantPassengerCount();
+      int types = (adults > 0 ? 1 : 0) + (children > 0 ? 1 : 0) + (infants > 0 ? 1 : 0);
+      int count = types * 2;
+
+      Airports airportTable = units.airports() != null ? units.airports() : airports.current();
+      int departure = airportTable.id(accepted.departureAirportCode());
+      int destination = airportTable.id(accepted.destinationAirportCode());
+      if (departure == Airports.UNKNOWN || destination == Airports.UNKNOWN) {
+         // The buffer's table predates a registry reload that added the airport
+         throw new IllegalStateException("Pricing unit buffer's airport table has no "
+            + (departure == Airports.UNKNOWN ? accepted.departureAirportCode() : accepted.destinationAirportCode())
+            + "; clear the buffer before generating against a newer snapshot");
+      }
+      int search = units.beginSearch(count, airportTable);
+      int seatingClass = SeatingClass.id(accepted.seatingClass());
+      boolean emergencyRow = accepted.emergencyRowSeating();
+
+      for (int leg = PricingUnits.OUTBOUND; leg <= PricingUnits.RETURN; leg++) {
+         boolean outbound = leg == PricingUnits.OUTBOUND;
+         int origin = outbound ? departure : destination;
+         int arrival = outbound ? destination : departure;
+         long day = outbound ? accepted.departureEpochDay() : accepted.returnEpochDay();
+         if (adults > 0) {
+            units.add(search, leg, origin, arrival, day, seatingClass, emergencyRow, PassengerType.ADULT.ordinal(), adults);
+         }
+         if (children > 0) {
+            units.add(search, leg, origin, arrival, day, seatingClass, emergencyRow, PassengerType.CHILD.ordinal(), children);
+         }
+         if (infants > 0) {
+            units.add(search, leg, origin, arrival, day, seatingClass, emergencyRow, PassengerType.INFANT.ordinal(), infants);
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Appends the pricing units of the last search a FlightSearch accepted
+    * @return the number of units added
+    * @throws IllegalStateException if the FlightSearch has not accepted a search or the units do not fit
+    */
+   public int generate(FlightSearch search, PricingUnits units) {
+      SearchCriteria accepted = search.getCriteria();
+      if (accepted == null) {
+         throw new IllegalStateException("Flight search has not accepted a search");
+      }
+      return generate(accepted, units);
+   }
+}
\ No newline at end of file
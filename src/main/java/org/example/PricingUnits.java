@@ -0,0 +1,198 @@
+package org.example;
+
+import java.util.Objects;
+
+/**
+ * Reusable columnar buffer of pricing units handed from validation to the fare search
+ * A pricing unit is one leg of one accepted search for the passengers of one type in the
+ * search's seating class. Each field is held in its own primitive array, like SearchBatch, so
+ * filling and reading the buffer allocates nothing; clear() makes it ready for the next round.
+ * Airports are ids of the snapshot returned by airports(), seating classes are SeatingClass ids
+ * and passenger types are PassengerType ids.
+ */
+public final class PricingUnits {
+
+   /** Leg id of the outbound flight */
+   public static final int OUTBOUND = 0;
+
+   /** Leg id of the return flight */
+   public static final int RETURN = 1;
+
+   /** Most units one search expands into: every passenger type on both legs */
+   public static final int MAX_UNITS_PER_SEARCH = 2 * 3;
+
+   final int[]     searches;
+   final int[]     legs;
+   final int[]     originAirports;
+   final int[]     destinationAirports;
+   final long[]    days;
+   final int[]     seatingClasses;
+   final boolean[] emergencyRowSeating;
+   final int[]     passengerTypes;
+   final int[]     passengerCounts;
+   private int     size;
+   private int     searchCount;
+   private Airports airportTable;
+
+   /**
+    * Creates an empty buffer
+    * @param capacity maximum number of units
+    */
+   public PricingUnits(int capacity) {
+      searches = new int[capacity];
+      legs = new int[capacity];
+      originAirports = new int[capacity];
+      destinationAirports = new int[capacity];
+      days = new long[capacity];
+      seatingClasses = new int[capacity];
+      emergencyRowSeating = new boolean[capacity];
+      passengerTypes = new int[capacity];
+      passengerCounts = new int[capacity];
+   }
+
+   /**
+    * @return the number of units in the buffer
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * @return the maximum number of units
+    */
+   public int capacity() {
+      return legs.length;
+   }
+
+   /**
+    * @return the number of units that can still be added
+    */
+   public int remaining() {
+      return legs.length - size;
+   }
+
+   /**
+    * @return the number of searches expanded into the buffer since it was last cleared
+    */
+   public int searchCount() {
+      return searchCount;
+   }
+
+   /**
+    * @return the snapshot the airport ids refer to, or null while the buffer is empty
+    */
+   public Airports airports() {
+      return airportTable;
+   }
+
+   /**
+    * Empties the buffer, keeping its arrays
+    */
+   public void clear() {
+      size = 0;
+      searchCount = 0;
+      airportTable = null;
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return the index of the search the unit came from, counted from the last clear()
+    */
+   public int search(int unit) {
+      return searches[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return OUTBOUND or RETURN
+    */
+   public int leg(int unit) {
+      return legs[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return the airport id the leg departs from
+    */
+   public int originAirport(int unit) {
+      return originAirports[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return the airport id the leg arrives at
+    */
+   public int destinationAirport(int unit) {
+      return destinationAirports[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return the date of the leg as an epoch day
+    */
+   public long day(int unit) {
+      return days[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return the SeatingClass id
+    */
+   public int seatingClass(int unit) {
+      return seatingClasses[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return whether emergency row seating was requested
+    */
+   public boolean emergencyRowSeating(int unit) {
+      return emergencyRowSeating[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return the PassengerType id
+    */
+   public int passengerType(int unit) {
+      return passengerTypes[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * @param unit unit index, 0 to size() - 1
+    * @return the number of passengers of the unit's type
+    */
+   public int passengerCount(int unit) {
+      return passengerCounts[Objects.checkIndex(unit, size)];
+   }
+
+   /**
+    * Starts the units of the next search, fixing the airport snapshot on the first one
+    * @param units number of units the search will add
+    * @return the search index
+    * @throws IllegalStateException if the units do not fit
+    */
+   int beginSearch(int units, Airports airports) {
+      if (units > remaining()) {
+         throw new IllegalStateException("Pricing unit buffer is full");
+      }
+      if (airportTable == null) {
+         airportTable = airports;
+      }
+      return searchCount++;
+   }
+
+   void add(int search, int leg, int originAirport, int destinationAirport, long day,
+            int seatingClass, boolean emergencyRow, int passengerType, int passengerCount) {
+      int unit = size++;
+      searches[unit] = search;
+      legs[unit] = leg;
+      originAirports[unit] = originAirport;
+      destinationAirports[unit] = destinationAirport;
+      days[unit] = day;
+      seatingClasses[unit] = seatingClass;
+      emergencyRowSeating[unit] = emergencyRow;
+      passengerTypes[unit] = passengerType;
+      passengerCounts[unit] = passengerCount;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Immutable index of the routes flown between the airports of an Airports snapshot
+ * Routes are directed and held as dense adjacency bitsets over airport ids, one row of bits per
+ * origin. The index also precomputes, for every stop count up to maxStops(), the bitset of
+ * airports reachable from each origin with at most that many stops, so every query is a single
+ * bit test. Memory grows with (maxStops + 1) * count * count bits.
+ */
+public final class RouteIndex {
+
+   private final Airports airports;
+   private final int maxStops;
+   private final int routes;
+   private final int wordsPerRow;
+
+   // Level k holds, for each origin, the destinations reachable with at most k stops;
+   // level 0 is the direct routes. Row i of level k starts at (k * count + i) * wordsPerRow
+   private final long[] reachable;
+
+   private RouteIndex(Airports airports, int maxStops, int routes, int wordsPerRow, long[] reachable) {
+      this.airports = airports;
+      this.maxStops = maxStops;
+      this.routes = routes;
+      this.wordsPerRow = wordsPerRow;
+      this.reachable = reachable;
+   }
+
+   /**
+    * Builds an index from routes written as "origin,destination"
+    * @param airports the dictionary the route ids refer to
+    * @param maxStops most intermediate stops answered by isReachable
+    * @param routes directed routes, e.g. "syd,mel"
+    * @return the index
+    * @throws IllegalArgumentException if a route is malformed or names an airport missing from the dictionary
+    */
+   public static RouteIndex of(Airports airports, int maxStops, String... routes) {
+      Builder builder = new Builder(airports, maxStops);
+      for (String route : routes) {
+         String error = builder.add(route);
+         if (error != null) {
+            throw new IllegalArgumentException(error + ": " + route);
+         }
+      }
+      return builder.build();
+   }
+
+   /**
+    * Loads an index from a route file
+    * Each non-blank line holds an origin and a destination code separated by a comma, optionally
+    * followed by further columns; lines starting with '#' are comments
+    * @param file route file
+    * @param airports the dictionary the route ids refer to
+    * @param maxStops most intermediate stops answered by isReachable
+    * @return the index
+    * @throws IOException if the file cannot be read, or a line is malformed or names an airport
+    *         missing from the dictionary
+    */
+   public static RouteIndex load(Path file, Airports airports, int maxStops) throws IOException {
+      Builder builder = new Builder(airports, maxStops);
+      try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+         String line;
+         int lineNumber = 0;
+         while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+               continue;
+            }
+            String error = builder.add(trimmed);
+            if (error != null) {
+               throw new IOException(error + " on line " + lineNumber + " of " + file);
+            }
+         }
+      }
+      return builder.build();
+   }
+
+   /**
+    * @return the dictionary the airport ids of this index refer to
+    */
+   public Airports airports() {
+      return airports;
+   }
+
+   /**
+    * @return the most intermediate stops isReachable answers for
+    */
+   public int maxStops() {
+      return maxStops;
+   }
+
+   /**
+    * @return the number of distinct direct routes
+    */
+   public int routes() {
+      return routes;
+   }
+
+   /**
+    * @param origin airport id of the origin
+    * @param destination airport id of the destination
+    * @return true if a direct route is flown; false for unknown ids
+    */
+   public boolean hasRoute(int origin, int destination) {
+      return isReachable(origin, destination, 0);
+   }
+
+   /**
+    * @param origin airport id of the origin
+    * @param destination airport id of the destination
+    * @param stops most intermediate stops, 0 for a direct route
+    * @return true if the destination can be reached with at most the given stops; false for unknown ids
+    * @throws IllegalArgumentException if stops is negative or above maxStops()
+    */
+   public boolean isReachable(int origin, int destination, int stops) {
+      if (stops < 0 || stops > maxStops) {
+         throw new IllegalArgumentException("Stops must be between 0 and " + maxStops + ": " + stops);
+      }
+      return airports.isValid(origin) && airports.isValid(destination) && test(origin, destination, stops);
+   }
+
+   /**
+    * @param origin airport id of the origin
+    * @param destination airport id of the destination
+    * @return the fewest intermediate stops needed, or -1 if more than maxStops() are needed or an id is unknown
+    */
+   public int minStops(int origin, int destination) {
+      if (!airports.isValid(origin) || !airports.isValid(destination)) {
+         return -1;
+      }
+      for (int stops = 0; stops <= maxStops; stops++) {
+         if (test(origin, destination, stops)) {
+            return stops;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Reachability for airport ids of another snapshot, used while a registry reload swaps the
+    * dictionary ahead of the route index; ids are translated through their codes without allocating
+    * @param airportTable the snapshot the ids were resolved against
+    * @param stops most intermediate stops, 0 to maxStops()
+    */
+   boolean isReachable(Airports airportTable, int origin, int destination, int stops) {
+      if (airportTable != airports) {
+         if (!airportTable.isValid(origin) || !airportTable.isValid(destination)) {
+            return false;
+         }
+         origin = airports.id(airportTable.code(origin));
+         destination = airports.id(airportTable.code(destination));
+      }
+      return airports.isValid(origin) && airports.isValid(destination) && test(origin, destination, stops);
+   }
+
+   private boolean test(int origin, int destination, int stops) {
+      long word = reachable[(stops * airports.count() + origin) * wordsPerRow + (destination >>> 6)];
+      return (word & (1L << destination)) != 0;
+   }
+
+   /**
+    * Collects direct routes, then derives each stop level from the one before
+    */
+   private static final class Builder {
+      private final Airports airports;
+      private final int maxStops;
+      private final int count;
+      private final int wordsPerRow;
+      private final long[] reachable;
+      private int routes;
+
+      Builder(Airports airports, int maxStops) {
+         if (maxStops < 0) {
+            throw new IllegalArgumentException("Maximum stops cannot be negative: " + maxStops);
+         }
+         this.airports = airports;
+         this.maxStops = maxStops;
+         this.count = airports.count();
+         this.wordsPerRow = (count + 63) >>> 6;
+         long words = (maxStops + 1L) * count * wordsPerRow;
+         if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Route index for " + count + " airports and "
+                                               + maxStops + " stops is too large");
+         }
+         this.reachable = new long[(int) words];
+      }
+
+      /**
+       * @return null if the route was added, otherwise why it was refused
+       */
+      String add(String route) {
+         int comma = route.indexOf(',');
+         if (comma < 0) {
+            return "Route must be origin,destination";
+         }
+         int end = route.indexOf(',', comma + 1);
+         int origin = airports.id(route.substring(0, comma).trim());
+         int destination = airports.id((end < 0 ? route.substring(comma + 1) : route.substring(comma + 1, end)).trim());
+         if (origin == Airports.UNKNOWN || destination == Airports.UNKNOWN) {
+            return "Route names an unknown airport";
+         }
+         int index = origin * wordsPerRow + (destination >>> 6);
+         long bit = 1L << destination;
+         if ((reachable[index] & bit) == 0) {
+            reachable[index] |= bit;
+            routes++;
+         }
+         return null;
+      }
+
+      RouteIndex build() {
+         int levelWords = count * wordsPerRow;
+         for (int stops = 1; stops <= maxStops; stops++) {
+            int previous = (stops - 1) * levelWords;
+            int current = stops * levelWords;
+            System.arraycopy(reachable, previous, reachable, current, levelWords);
+            for (int origin = 0; origin < count; origin++) {
+               int row = current + origin * wordsPerRow;
+               // One more flight from every airport reachable with one stop fewer
+               for (int w = 0; w < wordsPerRow; w++) {
+                  long word = reachable[previous + origin * wordsPerRow + w];
+                  while (word != 0) {
+                     int via = (w << 6) + Long.numberOfTrailingZeros(word);
+                     word &= word - 1;
+                     int direct = via * wordsPerRow;
+                     for (int x = 0; x < wordsPerRow; x++) {
+                        reachable[row + x] |= reachable[direct + x];
+                     }
+                  }
+               }
+            }
+         }
+         return new RouteIndex(airports, maxStops, routes, wordsPerRow, reachable);
+      }
+   }
+}
\ No newline at end of file
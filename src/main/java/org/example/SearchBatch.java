@@ -0,0 +1,129 @@
+package org.example;
+
+/**
+ * Columnar batch of flight searches for bulk validation
+ * Each search parameter is held in its own primitive array and row i of the batch is made of
+ * element i of every array. Dates are epoch days (DateParser.INVALID for unparseable dates),
+ * airports are ids from an Airports snapshot and seating classes are SeatingClass ids. A batch
+ * that names the snapshot its ids were resolved against is validated against that snapshot;
+ * otherwise the validator reads its current snapshot once per batch.
+ */
+public final class SearchBatch {
+   final long[]    departureDays;
+   final int[]     departureAirports;
+   final boolean[] emergencyRowSeating;
+   final long[]    returnDays;
+   final int[]     destinationAirports;
+   final int[]     seatingClasses;
+   final int[]     adultPassengerCounts;
+   final int[]     childPassengerCounts;
+   final int[]     infantPassengerCounts;
+   private int     size;
+   private Airports airports;
+
+   /**
+    * Creates an empty batch to be filled with add()
+    * @param capacity maximum number of searches
+    */
+   public SearchBatch(int capacity) {
+      this(new long[capacity], new int[capacity], new boolean[capacity],
+           new long[capacity], new int[capacity], new int[capacity],
+           new int[capacity], new int[capacity], new int[capacity]);
+      this.size = 0;
+   }
+
+   /**
+    * Wraps existing parallel arrays; the batch holds every row and reads the arrays in place
+    * @throws IllegalArgumentException if the arrays differ in length
+    */
+   public SearchBatch(long[] departureDays,        int[] departureAirports,   boolean[] emergencyRowSeating,
+                      long[] returnDays,           int[] destinationAirports, int[] seatingClasses,
+                      int[] adultPassengerCounts,  int[] childPassengerCounts, int[] infantPassengerCounts) {
+      int length = departureDays.length;
+      if (departureAirports.length != length || emergencyRowSeating.length != length
+            || returnDays.length != length || destinationAirports.length != length
+            || seatingClasses.length != length || adultPassengerCounts.length != length
+            || childPassengerCounts.length != length || infantPassengerCounts.length != length) {
+         throw new IllegalArgumentException("Search batch arrays must all have the same length");
+      }
+      this.departureDays = departureDays;
+      this.departureAirports = departureAirports;
+      this.emergencyRowSeating = emergencyRowSeating;
+      this.returnDays = returnDays;
+      this.destinationAirports = destinationAirports;
+      this.seatingClasses = seatingClasses;
+      this.adultPassengerCounts = adultPassengerCounts;
+      this.childPassengerCounts = childPassengerCounts;
+      this.infantPassengerCounts = infantPassengerCounts;
+      this.size = length;
+   }
+
+   /**
+    * Appends a search to the batch
+    * @return the row index of the search
+    * @throws IllegalStateException if the batch is full
+    */
+   public int add(long departureDay,        int departureAirport,   boolean emergencyRow,
+                  long returnDay,           int destinationAirport, int seatingClass,
+                  int adultPassengerCount,  int childPassengerCount, int infantPassengerCount) {
+      if (size == departureDays.length) {
+         throw new IllegalStateException("Search batch is full");
+      }
+      int row = size++;
+      departureDays[row] = departureDay;
+      departureAirports[row] = departureAirport;
+      emergencyRowSeating[row] = emergencyRow;
+      returnDays[row] = returnDay;
+      destinationAirports[row] = destinationAirport;
+      seatingClasses[row] = seatingClass;
+      adultPassengerCounts[row] = adultPassengerCount;
+      childPassengerCounts[row] = childPassengerCount;
+      infantPassengerCounts[row] = infantPassengerCount;
+      return row;
+   }
+
+   /**
+    * Records the snapshot the airport ids were resolved against; it is kept across clear()
+    * @param airports the snapshot, or null to validate against the validator's current snapshot
+    */
+   public void setAirports(Airports airports) {
+      this.airports = airports;
+   }
+
+   /**
+    * @return the snapshot the airport ids were resolved against, or null if not recorded
+    */
+   public Airports airports() {
+      return airports;
+   }
+
+   /**
+    * Empties the batch so its arrays can be reused
+    */
+   public void clear() {
+      size = 0;
+   }
+
+   /**
+    * @return the number of searches in the batch
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * @return the number of searches the batch can hold
+    */
+   public int capacity() {
+      return departureDays.length;
+   }
+
+   /**
+    * @param results bitset written by a batch validation
+    * @param row row index
+    * @return true if the search in the given row passed validation
+    */
+   public static boolean isValid(long[] results, int row) {
+      return (results[row >>> 6] & (1L << row)) != 0;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package org.example;
+
+import java.util.Objects;
+
+/**
+ * Mutable flight search for interfaces that change one field at a time
+ * The builder keeps every field decoded and the outcome of every condition. Setting a field
+ * decodes only that field and marks only the conditions that depend on it; the next call to
+ * failures(), isValid() or criteria() re-evaluates just those, plus condition 6 if the date has
+ * rolled over and condition 11 if the airport snapshot has been reloaded, so the result always
+ * matches a full validation. A null date fails condition 7.
+ * Not thread-safe.
+ */
+public final class SearchBuilder {
+
+   // Conditions that depend on each field
+   private static final int ADULTS = SearchCondition.PASSENGER_COUNT.bit()
+      | SearchCondition.CHILD_ADULT_RATIO.bit() | SearchCondition.INFANT_ADULT_RATIO.bit();
+   private static final int CHILDREN = SearchCondition.PASSENGER_COUNT.bit()
+      | SearchCondition.CHILD_SEATING.bit() | SearchCondition.CHILD_ADULT_RATIO.bit();
+   private static final int INFANTS = SearchCondition.PASSENGER_COUNT.bit()
+      | SearchCondition.INFANT_SEATING.bit() | SearchCondition.INFANT_ADULT_RATIO.bit();
+   private static final int EMERGENCY_ROW = SearchCondition.CHILD_SEATING.bit()
+      | SearchCondition.INFANT_SEATING.bit() | SearchCondition.EMERGENCY_ROW_CLASS.bit();
+   private static final int SEATING_CLASS = EMERGENCY_ROW | SearchCondition.SEATING_CLASS.bit();
+   private static final int DEPARTURE_DATE = SearchCondition.DEPARTURE_DATE.bit()
+      | SearchCondition.DATE_FORMAT.bit() | SearchCondition.RETURN_DATE.bit();
+   private static final int RETURN_DATE = SearchCondition.DATE_FORMAT.bit() | SearchCondition.RETURN_DATE.bit();
+   private static final int AIRPORTS = SearchCondition.AIRPORTS.bit();
+
+   private final FlightSearchValidator validator;
+
+   private String  departureDate;
+   private String  departureAirportCode;
+   private boolean emergencyRowSeating;
+   private String  returnDate;
+   private String  destinationAirportCode;
+   private String  seatingClass;
+   private int     adultPassengerCount;
+   private int     childPassengerCount;
+   private int     infantPassengerCount;
+
+   private long     departureDay = DateParser.INVALID;
+   private long     returnDay = DateParser.INVALID;
+   private int      departureAirport = Airports.UNKNOWN;
+   private int      destinationAirport = Airports.UNKNOWN;
+   private int      seatingClassId = SeatingClass.UNKNOWN;
+   private Airports airportTable;
+   private long     today;
+
+   private int failures;
+   private int stale = FlightSearchValidator.ALL_CONDITIONS;
+
+   /**
+    * Creates a builder with every field unset, which fails conditions 1, 7, 9 and 11
+    * @param validator validator whose rules, clock and airports the builder applies
+    */
+   public SearchBuilder(FlightSearchValidator validator) {
+      this.validator = validator;
+   }
+
+   /**
+    * @param departureDate departure date in DD/MM/YYYY format
+    * @return this builder
+    */
+   public SearchBuilder departureDate(String departureDate) {
+      if (!Objects.equals(departureDate, this.departureDate)) {
+         this.departureDate = departureDate;
+         this.departureDay = parse(departureDate);
+         stale |= DEPARTURE_DATE;
+      }
+      return this;
+   }
+
+   /**
+    * @param returnDate return date in DD/MM/YYYY format
+    * @return this builder
+    */
+   public SearchBuilder returnDate(String returnDate) {
+      if (!Objects.equals(returnDate, this.returnDate)) {
+         this.returnDate = returnDate;
+         this.returnDay = parse(returnDate);
+         stale |= RETURN_DATE;
+      }
+      return this;
+   }
+
+   /**
+    * @param departureAirportCode departure airport code
+    * @return this builder
+    */
+   public SearchBuilder departureAirportCode(String departureAirportCode) {
+      if (!Objects.equals(departureAirportCode, this.departureAirportCode)) {
+         this.departureAirportCode = departureAirportCode;
+         if (airportTable != null) {
+            this.departureAirport = airportTable.id(departureAirportCode);
+         }
+         stale |= AIRPORTS;
+      }
+      return this;
+   }
+
+   /**
+    * @param destinationAirportCode destination airport code
+    * @return this builder
+    */
+   public SearchBuilder destinationAirportCode(String destinationAirportCode) {
+      if (!Objects.equals(destinationAirportCode, this.destinationAirportCode)) {
+         this.destinationAirportCode = destinationAirportCode;
+         if (airportTable != null) {
+            this.destinationAirport = airportTable.id(destinationAirportCode);
+         }
+         stale |= AIRPORTS;
+      }
+      return this;
+   }
+
+   /**
+    * @param seatingClass seating class preference
+    * @return this builder
+    */
+   public SearchBuilder seatingClass(String seatingClass) {
+      if (!Objects.equals(seatingClass, this.seatingClass)) {
+         this.seatingClass = seatingClass;
+         this.seatingClassId = SeatingClass.id(seatingClass);
+         stale |= SEATING_CLASS;
+      }
+      return this;
+   }
+
+   /**
+    * @param emergencyRowSeating whether emergency row seating is requested
+    * @return this builder
+    */
+   public SearchBuilder emergencyRowSeating(boolean emergencyRowSeating) {
+      if (emergencyRowSeating != this.emergencyRowSeating) {
+         this.emergencyRowSeating = emergencyRowSeating;
+         stale |= EMERGENCY_ROW;
+      }
+      return this;
+   }
+
+   /**
+    * @param adultPassengerCount number of adult passengers
+    * @return this builder
+    */
+   public SearchBuilder adultPassengerCount(int adultPassengerCount) {
+      if (adultPassengerCount != this.adultPassengerCount) {
+         this.adultPassengerCount = adultPassengerCount;
+         stale |= ADULTS;
+      }
+      return this;
+   }
+
+   /**
+    * @param childPassengerCount number of child passengers
+    * @return this builder
+    */
+   public SearchBuilder childPassengerCount(int childPassengerCount) {
+      if (childPassengerCount != this.childPassengerCount) {
+         this.childPassengerCount = childPassengerCount;
+         stale |= CHILDREN;
+      }
+      return this;
+   }
+
+   /**
+    * @param infantPassengerCount number of infant passengers
+    * @return this builder
+    */
+   public SearchBuilder infantPassengerCount(int infantPassengerCount) {
+      if (infantPassengerCount != this.infantPassengerCount) {
+         this.infantPassengerCount = infantPassengerCount;
+         stale |= INFANTS;
+      }
+      return this;
+   }
+
+   /**
+    * Re-evaluates the conditions affected since the last call
+    * @return a mask of SearchCondition bits, 0 when the search is valid
+    */
+   public int failures() {
+      Airports current = validator.airports().current();
+      if (current != airportTable) {
+         airportTable = current;
+         departureAirport = current.id(departureAirportCode);
+         destinationAirport = current.id(destinationAirportCode);
+         stale |= AIRPORTS;
+      }
+      long now = validator.clock().today();
+      if (now != today) {
+         today = now;
+         stale |= SearchCondition.DEPARTURE_DATE.bit();
+      }
+      if (stale != 0) {
+         int evaluated = validator.checkResolved(stale, departureDay, departureAirport, emergencyRowSeating,
+                                                 returnDay, destinationAirport, seatingClassId,
+                                                 adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                                 airportTable);
+         failures = (failures & ~stale) | evaluated;
+         stale = 0;
+      }
+      return failures;
+   }
+
+   /**
+    * @return true if all validation conditions are met
+    */
+   public boolean isValid() {
+      return failures() == 0;
+   }
+
+   /**
+    * @return the criteria of the search if it is valid, otherwise null
+    */
+   public SearchCriteria criteria() {
+      if (failures() != 0) {
+         return null;
+      }
+      return new SearchCriteria(departureDate, departureAirportCode, emergencyRowSeating,
+                                returnDate, destinationAirportCode, seatingClass,
+                                adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                departureDay, returnDay);
+   }
+
+   private static long parse(String date) {
+      return date == null ? DateParser.INVALID : DateParser.parseEpochDay(date);
+   }
+}
\ No newline at end of file
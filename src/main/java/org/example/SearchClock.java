@@ -0,0 +1,95 @@
+package org.example;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Source of "today" for the departure-date rule (condition 6)
+ * The current epoch day is cached together with the instants at which it starts and ends in the
+ * configured zone, so a call only reads the clock's millisecond counter and the date is recomputed
+ * once per midnight rollover. Injecting a fixed or offset Clock makes the rule deterministic.
+ */
+public final class SearchClock {
+
+   private static final SearchClock SYSTEM_DEFAULT = new SearchClock(Clock.systemDefaultZone());
+
+   private final Clock clock;
+   private volatile Day day;
+
+   /**
+    * Creates a search clock reading the given clock in the clock's zone
+    * @param clock the underlying clock
+    */
+   public SearchClock(Clock clock) {
+      this.clock = clock;
+      this.day = Day.containing(clock.millis(), clock.getZone());
+   }
+
+   /**
+    * @return a clock using the system time in the system default zone
+    */
+   public static SearchClock systemDefault() {
+      return SYSTEM_DEFAULT;
+   }
+
+   /**
+    * @param zone zone whose midnight starts a new day
+    * @return a clock using the system time in the given zone
+    */
+   public static SearchClock system(ZoneId zone) {
+      return new SearchClock(Clock.system(zone));
+   }
+
+   /**
+    * @param date the date that is always "today"
+    * @return a clock fixed at the start of the given date, for tests and replays
+    */
+   public static SearchClock fixed(LocalDate date) {
+      ZoneId zone = ZoneId.of("UTC");
+      return new SearchClock(Clock.fixed(date.atStartOfDay(zone).toInstant(), zone));
+   }
+
+   /**
+    * @return the current date as an epoch day in this clock's zone
+    */
+   public long today() {
+      long now = clock.millis();
+      Day current = day;
+      if (now < current.startMillis || now >= current.endMillis) {
+         current = Day.containing(now, clock.getZone());
+         day = current;
+      }
+      return current.epochDay;
+   }
+
+   /**
+    * @return the zone whose midnight starts a new day
+    */
+   public ZoneId zone() {
+      return clock.getZone();
+   }
+
+   /**
+    * One calendar day in the clock's zone, as [startMillis, endMillis)
+    */
+   private static final class Day {
+      final long epochDay;
+      final long startMillis;
+      final long endMillis;
+
+      private Day(long epochDay, long startMillis, long endMillis) {
+         this.epochDay = epochDay;
+         this.startMillis = startMillis;
+         this.endMillis = endMillis;
+      }
+
+      static Day containing(long millis, ZoneId zone) {
+         LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+         return new Day(date.toEpochDay(),
+                        date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                        date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+      }
+   }
+}
\ No newline at end of file
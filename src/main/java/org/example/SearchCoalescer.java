@@ -0,0 +1,236 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces individually submitted searches into micro-batches
+ * A single flusher thread collects requests until the batch is full or the oldest request has
+ * waited the maximum latency, then validates the whole batch with FlightSearchValidator.validateBatch,
+ * which reads the current date once. While filling the batch, a field equal to the previous request's
+ * reuses its parsed date, airport id or seating class id, which is the common case during a burst
+ * of refreshes. Each caller's future completes with the accepted criteria or null.
+ * The batch path applies the eleven conditions directly; a result cache, metrics or adaptive order
+ * attached to the validator are not used.
+ */
+public final class SearchCoalescer implements AutoCloseable {
+
+   // How long an idle flusher waits before checking whether the coalescer was closed
+   private static final long IDLE_POLL_MILLIS = 50;
+
+   private final FlightSearchValidator validator;
+   private final int maxBatchSize;
+   private final long maxLatencyNanos;
+   private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+   private final LongAdder batches = new LongAdder();
+   private final SearchBatch batch;
+   private final long[] results;
+   private final List<Request> pending;
+   private final Thread flusher;
+   private volatile boolean closed;
+
+   /**
+    * Creates a coalescer and starts its flusher thread
+    * @param validator validator applied to every batch
+    * @param maxBatchSize most searches validated in one batch
+    * @param maxLatency longest a search waits for its batch to fill
+    */
+   public SearchCoalescer(FlightSearchValidator validator, int maxBatchSize, Duration maxLatency) {
+      if (maxBatchSize < 1) {
+         throw new IllegalArgumentException("Maximum batch size must be positive: " + maxBatchSize);
+      }
+      if (maxLatency.isNegative()) {
+         throw new IllegalArgumentException("Maximum latency cannot be negative: " + maxLatency);
+      }
+      this.validator = validator;
+      this.maxBatchSize = maxBatchSize;
+      this.maxLatencyNanos = maxLatency.toNanos();
+      this.batch = new SearchBatch(maxBatchSize);
+      this.results = new long[(maxBatchSize + 63) >>> 6];
+      this.pending = new ArrayList<>(maxBatchSize);
+      this.flusher = Thread.ofPlatform().name("search-coalescer").daemon().start(this::run);
+   }
+
+   /**
+    * Queues a search for the next batch
+    * Takes the same parameters as FlightSearchValidator.validate
+    * @return a future completing with the accepted criteria or null, or already failed with
+    *         RejectedExecutionException if the coalescer is closed
+    */
+   public CompletableFuture<SearchCriteria> submit(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                                                   String returnDate,       String destinationAirportCode, String seatingClass,
+                                                   int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+      if (closed) {
+         return CompletableFuture.failedFuture(new RejectedExecutionException("Coalescer is closed"));
+      }
+      Request request = new Request(departureDate, departureAirportCode, emergencyRowSeating,
+                                    returnDate, destinationAirportCode, seatingClass,
+                                    adultPassengerCount, childPassengerCount, infantPassengerCount);
+      queue.add(request);
+      // close() may have drained the queue between the check above and the add; a request still
+      // queued then would never be flushed, so take it back and fail it
+      if (closed && queue.remove(request)) {
+         request.result.completeExceptionally(new RejectedExecutionException("Coalescer is closed"));
+      }
+      return request.result;
+   }
+
+   /**
+    * @return the number of batches validated so far
+    */
+   public long batches() {
+      return batches.sum();
+   }
+
+   /**
+    * Stops accepting searches and validates every search already queued before returning
+    */
+   @Override
+   public void close() {
+      closed = true;
+      flusher.interrupt();
+      try {
+         flusher.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      // Searches the flusher had collected or that were queued while it was exiting
+      do {
+         queue.drainTo(pending, maxBatchSize - pending.size());
+         if (!pending.isEmpty()) {
+            flush();
+         }
+      } while (!queue.isEmpty());
+   }
+
+   private void run() {
+      try {
+         while (true) {
+            Request first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+               if (closed) {
+                  return;
+               }
+               continue;
+            }
+            pending.add(first);
+            long deadline = first.enqueuedNanos + maxLatencyNanos;
+            while (pending.size() < maxBatchSize) {
+               queue.drainTo(pending, maxBatchSize - pending.size());
+               long wait = deadline - System.nanoTime();
+               if (pending.size() == maxBatchSize || wait <= 0) {
+                  break;
+               }
+               Request next = queue.poll(wait, TimeUnit.NANOSECONDS);
+               if (next == null) {
+                  break;
+               }
+               pending.add(next);
+            }
+            flush();
+         }
+      } catch (InterruptedException e) {
+         // Interrupted by close(), which validates whatever is left
+      }
+   }
+
+   /**
+    * Validates the pending requests as one batch and completes their futures
+    */
+   private void flush() {
+      try {
+         Airports airportTable = validator.airports().current();
+         batch.clear();
+         batch.setAirports(airportTable);
+         Request previous = null;
+         long departureDay = 0;
+         long returnDay = 0;
+         int departureAirport = 0;
+         int destinationAirport = 0;
+         int seatingClass = 0;
+         for (Request request : pending) {
+            if (previous == null || !request.departureDate.equals(previous.departureDate)) {
+               departureDay = DateParser.parseEpochDay(request.departureDate);
+            }
+            if (previous == null || !request.returnDate.equals(previous.returnDate)) {
+               returnDay = DateParser.parseEpochDay(request.returnDate);
+            }
+            if (previous == null || !request.departureAirportCode.equals(previous.departureAirportCode)) {
+               departureAirport = airportTable.id(request.departureAirportCode);
+            }
+            if (previous == null || !request.destinationAirportCode.equals(previous.destinationAirportCode)) {
+               destinationAirport = airportTable.id(request.destinationAirportCode);
+            }
+            if (previous == null || !request.seatingClass.equals(previous.seatingClass)) {
+               seatingClass = SeatingClass.id(request.seatingClass);
+            }
+            batch.add(departureDay, departureAirport, request.emergencyRowSeating,
+                      returnDay, destinationAirport, seatingClass,
+                      request.adultPassengerCount, request.childPassengerCount, request.infantPassengerCount);
+            previous = request;
+         }
+
+         validator.validateBatch(batch, 0, batch.size(), results);
+         batches.increment();
+
+         for (int row = 0; row < pending.size(); row++) {
+            Request request = pending.get(row);
+            request.result.complete(SearchBatch.isValid(results, row) ? request.criteria(batch.departureDays[row], batch.returnDays[row]) : null);
+         }
+      } catch (RuntimeException e) {
+         for (Request request : pending) {
+            request.result.completeExceptionally(e);
+         }
+      } finally {
+         pending.clear();
+      }
+   }
+
+   /**
+    * One submitted search and the future its caller waits on
+    * Null text fields are replaced by "", which compares cheaply and fails validation the same way
+    */
+   private static final class Request {
+      final String departureDate;
+      final String departureAirportCode;
+      final boolean emergencyRowSeating;
+      final String returnDate;
+      final String destinationAirportCode;
+      final String seatingClass;
+      final int adultPassengerCount;
+      final int childPassengerCount;
+      final int infantPassengerCount;
+      final long enqueuedNanos = System.nanoTime();
+      final CompletableFuture<SearchCriteria> result = new CompletableFuture<>();
+
+      Request(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+              String returnDate,       String destinationAirportCode, String seatingClass,
+              int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+         this.departureDate = departureDate == null ? "" : departureDate;
+         this.departureAirportCode = departureAirportCode == null ? "" : departureAirportCode;
+         this.emergencyRowSeating = emergencyRowSeating;
+         this.returnDate = returnDate == null ? "" : returnDate;
+         this.destinationAirportCode = destinationAirportCode == null ? "" : destinationAirportCode;
+         this.seatingClass = seatingClass == null ? "" : seatingClass;
+         this.adultPassengerCount = adultPassengerCount;
+         this.childPassengerCount = childPassengerCount;
+         this.infantPassengerCount = infantPassengerCount;
+      }
+
+      /**
+       * Accepted criteria carrying the caller's original strings
+       */
+      SearchCriteria criteria(long departureDay, long returnDay) {
+         return new SearchCriteria(departureDate, departureAirportCode, emergencyRowSeating,
+                                   returnDate, destinationAirportCode, seatingClass,
+                                   adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                   departureDay, returnDay);
+      }
+   }
+}
\ No newline at end of file
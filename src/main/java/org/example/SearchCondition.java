@@ -0,0 +1,77 @@
+package org.example;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The 11 validation conditions applied to a flight search
+ * Each condition owns one bit of the failure mask returned by FlightSearchValidator.check, so a
+ * set of failures travels as a plain int and is only expanded when a caller needs it
+ */
+public enum SearchCondition {
+   PASSENGER_COUNT("Total passengers must be between 1 and 9"),
+   CHILD_SEATING("Children cannot be seated in an emergency row or first class"),
+   INFANT_SEATING("Infants cannot be seated in an emergency row or business class"),
+   CHILD_ADULT_RATIO("Each adult can accompany at most 2 children"),
+   INFANT_ADULT_RATIO("Each adult can accompany at most 1 infant"),
+   DEPARTURE_DATE("Departure date cannot be in the past"),
+   DATE_FORMAT("Dates must be valid and in DD/MM/YYYY format"),
+   RETURN_DATE("Return date cannot be before departure date"),
+   SEATING_CLASS("Seating class must be economy, premium economy, business or first"),
+   EMERGENCY_ROW_CLASS("Emergency row seating is only available in economy class"),
+   AIRPORTS("Airports must be valid and different");
+
+   private static final SearchCondition[] VALUES = values();
+
+   private final String message;
+   private final int bit;
+
+   SearchCondition(String message) {
+      this.message = message;
+      this.bit = 1 << ordinal();
+   }
+
+   /**
+    * @return the condition number used in the requirements, 1 to 11
+    */
+   public int number() {
+      return ordinal() + 1;
+   }
+
+   /**
+    * @return the bit this condition sets in a failure mask
+    */
+   public int bit() {
+      return bit;
+   }
+
+   /**
+    * @return a user-facing description of the rule
+    */
+   public String message() {
+      return message;
+   }
+
+   /**
+    * @param failures failure mask
+    * @return true if this condition is in the mask
+    */
+   public boolean isIn(int failures) {
+      return (failures & bit) != 0;
+   }
+
+   /**
+    * Expands a failure mask; intended for the error path only
+    * @param failures failure mask
+    * @return the failed conditions in condition order
+    */
+   public static Set<SearchCondition> fromMask(int failures) {
+      EnumSet<SearchCondition> conditions = EnumSet.noneOf(SearchCondition.class);
+      for (SearchCondition condition : VALUES) {
+         if (condition.isIn(failures)) {
+            conditions.add(condition);
+         }
+      }
+      return conditions;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.example;
+
+/**
+ * Immutable flight search criteria accepted by FlightSearchValidator
+ * Holds the nine search parameters plus the epoch days decoded from the two dates
+ * @param departureDate departure date in DD/MM/YYYY format
+ * @param departureAirportCode departure airport code
+ * @param emergencyRowSeating whether emergency row seating is requested
+ * @param returnDate return date in DD/MM/YYYY format
+ * @param destinationAirportCode destination airport code
+ * @param seatingClass seating class preference
+ * @param adultPassengerCount number of adult passengers
+ * @param childPassengerCount number of child passengers
+ * @param infantPassengerCount number of infant passengers
+ * @param departureEpochDay departure date as an epoch day
+ * @param returnEpochDay return date as an epoch day
+ */
+public record SearchCriteria(String  departureDate,       String departureAirportCode,   boolean emergencyRowSeating,
+                             String  returnDate,          String destinationAirportCode, String  seatingClass,
+                             int     adultPassengerCount, int    childPassengerCount,    int     infantPassengerCount,
+                             long    departureEpochDay,   long   returnEpochDay) {
+}
\ No newline at end of file
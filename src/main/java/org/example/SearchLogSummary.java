@@ -0,0 +1,64 @@
+package org.example;
+
+/**
+ * Totals from validating one search log with SearchLogValidator
+ * Every non-blank record line is counted exactly once as accepted, rejected or malformed.
+ */
+public final class SearchLogSummary {
+
+   private final long records;
+   private final long accepted;
+   private final long rejected;
+   private final long malformed;
+   private final long[] rejections;
+
+   SearchLogSummary(long records, long accepted, long rejected, long malformed, long[] rejections) {
+      this.records = records;
+      this.accepted = accepted;
+      this.rejected = rejected;
+      this.malformed = malformed;
+      this.rejections = rejections.clone();
+   }
+
+   /**
+    * @return the number of record lines read, excluding a header and blank lines
+    */
+   public long records() {
+      return records;
+   }
+
+   /**
+    * @return the number of records that passed every condition
+    */
+   public long accepted() {
+      return accepted;
+   }
+
+   /**
+    * @return the number of well-formed records that failed at least one condition
+    */
+   public long rejected() {
+      return rejected;
+   }
+
+   /**
+    * @return the number of records that could not be parsed into the nine search fields
+    */
+   public long malformed() {
+      return malformed;
+   }
+
+   /**
+    * @param condition a validation condition
+    * @return how many records failed the condition; a record failing several counts for each
+    */
+   public long rejections(SearchCondition condition) {
+      return rejections[condition.ordinal()];
+   }
+
+   @Override
+   public String toString() {
+      return "SearchLogSummary[records=" + records + ", accepted=" + accepted
+         + ", rejected=" + rejected + ", malformed=" + malformed + "]";
+   }
+}
\ No newline at end of file
@@ -0,0 +1,431 @@
+package org.example;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streams a search log through a FlightSearchValidator with bounded memory
+ * The input is read through one reusable buffer and every field is decoded straight from its bytes,
+ * so no String is created per record. Each record line is copied unchanged to the accepted or the
+ * rejected output, and per-condition rejection counts are written to a counts file at the end.
+ * Fields are the nine runFlightSearch arguments:
+ * departureDate, departureAirportCode, emergencyRowSeating, returnDate, destinationAirportCode,
+ * seatingClass, adultPassengerCount, childPassengerCount, infantPassengerCount
+ */
+public final class SearchLogValidator {
+
+   /**
+    * Record layout of a search log, one record per line
+    */
+   public enum Format {
+      /** The nine fields in argument order, comma separated; an optional header line is copied to both outputs */
+      CSV,
+      /** One flat JSON object per line keyed by argument name; string escapes and nested values are not supported */
+      JSONL
+   }
+
+   private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+   private static final int FIELD_COUNT = 9;
+   private static final int MALFORMED = Integer.MIN_VALUE;
+   private static final int MAX_COUNT_DIGITS = 9;
+
+   private static final byte[][] FIELD_NAMES = {
+      ascii("departureDate"), ascii("departureAirportCode"), ascii("emergencyRowSeating"),
+      ascii("returnDate"), ascii("destinationAirportCode"), ascii("seatingClass"),
+      ascii("adultPassengerCount"), ascii("childPassengerCount"), ascii("infantPassengerCount")
+   };
+
+   private final FlightSearchValidator validator;
+   private final int bufferSize;
+
+   /**
+    * @param validator validator applied to every record
+    */
+   public SearchLogValidator(FlightSearchValidator validator) {
+      this(validator, DEFAULT_BUFFER_SIZE);
+   }
+
+   /**
+    * @param validator validator applied to every record
+    * @param bufferSize read buffer size; lines longer than this are reported as malformed
+    */
+   SearchLogValidator(FlightSearchValidator validator, int bufferSize) {
+      if (bufferSize < 2) {
+         throw new IllegalArgumentException("Buffer size must be at least 2: " + bufferSize);
+      }
+      this.validator = validator;
+      this.bufferSize = bufferSize;
+   }
+
+   /**
+    * Validates every record of a log file
+    * Malformed records are copied to the rejected output and counted separately. The counts file
+    * is CSV with one line per condition: number, message and number of records failing it.
+    * @param input the search log
+    * @param format record layout of the log
+    * @param accepted file receiving records that pass every condition
+    * @param rejected file receiving records that fail a condition or cannot be parsed
+    * @param counts file receiving the per-condition rejection counts
+    * @return totals for the run
+    * @throws IOException if a file cannot be read or written
+    */
+   public SearchLogSummary validate(Path input, Format format, Path accepted, Path rejected, Path counts) throws IOException {
+      Run run;
+      try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+           OutputStream acceptedOut = new BufferedOutputStream(Files.newOutputStream(accepted));
+           OutputStream rejectedOut = new BufferedOutputStream(Files.newOutputStream(rejected))) {
+         run = new Run(format, validator.airports().current(), acceptedOut, rejectedOut);
+         run.readAll(channel);
+      }
+      SearchLogSummary summary = new SearchLogSummary(run.records, run.accepted, run.rejected, run.malformed, run.rejections);
+      writeCounts(counts, summary);
+      return summary;
+   }
+
+   private static void writeCounts(Path counts, SearchLogSummary summary) throws IOException {
+      try (BufferedWriter writer = Files.newBufferedWriter(counts, StandardCharsets.UTF_8)) {
+         writer.write("condition,message,rejections\n");
+         for (SearchCondition condition : SearchCondition.values()) {
+            writer.write(condition.number() + ",\"" + condition.message() + "\"," + summary.rejections(condition) + "\n");
+         }
+      }
+   }
+
+   /**
+    * State of one validate call, so a SearchLogValidator can be shared between threads
+    */
+   private final class Run {
+      final Format format;
+      final Airports airportTable;
+      final OutputStream acceptedOut;
+      final OutputStream rejectedOut;
+      final byte[] buffer = new byte[bufferSize];
+      final int[] starts = new int[FIELD_COUNT];
+      final int[] ends = new int[FIELD_COUNT];
+      final long[] rejections = new long[SearchCondition.values().length];
+      boolean headerChecked;
+      long records;
+      long accepted;
+      long rejected;
+      long malformed;
+
+      Run(Format format, Airports airportTable, OutputStream acceptedOut, OutputStream rejectedOut) {
+         this.format = format;
+         this.airportTable = airportTable;
+         this.acceptedOut = acceptedOut;
+         this.rejectedOut = rejectedOut;
+         this.headerChecked = format != Format.CSV;
+      }
+
+      /**
+       * Fills the buffer, handles every complete line and moves the partial tail to the front
+       * A line that fills the whole buffer is streamed to the rejected output until its end
+       */
+      void readAll(FileChannel channel) throws IOException {
+         ByteBuffer view = ByteBuffer.wrap(buffer);
+         int filled = 0;
+         boolean oversized = false;
+         while (true) {
+            view.limit(buffer.length).position(filled);
+            int read = channel.read(view);
+            if (read < 0) {
+               break;
+            }
+            int end = filled + read;
+            int start = 0;
+            for (int i = filled; i < end; i++) {
+               if (buffer[i] == '\n') {
+                  if (oversized) {
+                     rejectedOut.write(buffer, start, i + 1 - start);
+                     oversized = false;
+                  } else {
+                     line(start, i);
+                  }
+                  start = i + 1;
+               }
+            }
+            filled = end - start;
+            if (filled == buffer.length) {
+               if (!oversized) {
+                  records++;
+                  malformed++;
+                  oversized = true;
+               }
+               rejectedOut.write(buffer, 0, filled);
+               filled = 0;
+            } else if (start > 0) {
+               System.arraycopy(buffer, start, buffer, 0, filled);
+            }
+         }
+         if (oversized) {
+            rejectedOut.write(buffer, 0, filled);
+            rejectedOut.write('\n');
+         } else if (filled > 0) {
+            line(0, filled);
+         }
+      }
+
+      /**
+       * Handles one line, excluding its '\n'
+       */
+      void line(int from, int to) throws IOException {
+         if (to > from && buffer[to - 1] == '\r') {
+            to--;
+         }
+         if (skipSpace(from, to) == to) {
+            return;
+         }
+         if (!headerChecked) {
+            headerChecked = true;
+            int first = skipSpace(from, to);
+            if (buffer[first] != '"' && (buffer[first] < '0' || buffer[first] > '9')) {
+               write(acceptedOut, from, to);
+               write(rejectedOut, from, to);
+               return;
+            }
+         }
+         records++;
+         int failures = parsed(from, to) ? check() : MALFORMED;
+         if (failures == 0) {
+            accepted++;
+            write(acceptedOut, from, to);
+            return;
+         }
+         if (failures == MALFORMED) {
+            malformed++;
+         } else {
+            rejected++;
+            for (int mask = failures; mask != 0; mask &= mask - 1) {
+               rejections[Integer.numberOfTrailingZeros(mask)]++;
+            }
+         }
+         write(rejectedOut, from, to);
+      }
+
+      void write(OutputStream out, int from, int to) throws IOException {
+         out.write(buffer, from, to - from);
+         out.write('\n');
+      }
+
+      boolean parsed(int from, int to) {
+         return format == Format.CSV ? splitCsv(from, to) : scanJson(from, to);
+      }
+
+      /**
+       * Decodes the located fields and validates them
+       * @return the failure mask, or MALFORMED if a boolean or count field cannot be decoded
+       */
+      int check() {
+         int emergencyRowSeating = parseBoolean(starts[2], ends[2]);
+         int adults = parseCount(starts[6], ends[6]);
+         int children = parseCount(starts[7], ends[7]);
+         int infants = parseCount(starts[8], ends[8]);
+         if (emergencyRowSeating == MALFORMED || adults == MALFORMED || children == MALFORMED || infants == MALFORMED) {
+            return MALFORMED;
+         }
+         return validator.checkResolved(
+            DateParser.parseEpochDay(buffer, starts[0], ends[0] - starts[0]),
+            airportTable.id(buffer, starts[1], ends[1] - starts[1]),
+            emergencyRowSeating == 1,
+            DateParser.parseEpochDay(buffer, starts[3], ends[3] - starts[3]),
+            airportTable.id(buffer, starts[4], ends[4] - starts[4]),
+            SeatingClass.id(buffer, starts[5], ends[5] - starts[5]),
+            adults, children, infants, airportTable);
+      }
+
+      /**
+       * Locates exactly nine comma separated fields, trimming spaces and optional double quotes
+       */
+      boolean splitCsv(int from, int to) {
+         int field = 0;
+         int fieldStart = from;
+         for (int i = from; i <= to; i++) {
+            if (i == to || buffer[i] == ',') {
+               if (field == FIELD_COUNT) {
+                  return false;
+               }
+               int start = skipSpace(fieldStart, i);
+               int end = i;
+               while (end > start && buffer[end - 1] == ' ') {
+                  end--;
+               }
+               if (end - start >= 2 && buffer[start] == '"' && buffer[end - 1] == '"') {
+                  start++;
+                  end--;
+               }
+               starts[field] = start;
+               ends[field] = end;
+               field++;
+               fieldStart = i + 1;
+            }
+         }
+         return field == FIELD_COUNT;
+      }
+
+      /**
+       * Locates the nine fields in a flat JSON object; unknown keys are ignored
+       */
+      boolean scanJson(int from, int to) {
+         Arrays.fill(starts, -1);
+         int i = skipSpace(from, to);
+         if (i == to || buffer[i] != '{') {
+            return false;
+         }
+         i = skipSpace(i + 1, to);
+         if (i < to && buffer[i] == '}') {
+            return false;
+         }
+         while (true) {
+            if (i == to || buffer[i] != '"') {
+               return false;
+            }
+            int keyStart = i + 1;
+            int keyEnd = closingQuote(keyStart, to);
+            if (keyEnd < 0) {
+               return false;
+            }
+            i = skipSpace(keyEnd + 1, to);
+            if (i == to || buffer[i] != ':') {
+               return false;
+            }
+            i = skipSpace(i + 1, to);
+            if (i == to) {
+               return false;
+            }
+            int valueStart;
+            int valueEnd;
+            if (buffer[i] == '"') {
+               valueStart = i + 1;
+               valueEnd = closingQuote(valueStart, to);
+               if (valueEnd < 0) {
+                  return false;
+               }
+               i = valueEnd + 1;
+            } else {
+               valueStart = i;
+               while (i < to && buffer[i] != ',' && buffer[i] != '}' && buffer[i] != ' ' && buffer[i] != '\t') {
+                  i++;
+               }
+               valueEnd = i;
+               if (valueEnd == valueStart || buffer[valueStart] == '{' || buffer[valueStart] == '[') {
+                  return false;
+               }
+            }
+            int field = fieldIndex(keyStart, keyEnd);
+            if (field >= 0) {
+               starts[field] = valueStart;
+               ends[field] = valueEnd;
+            }
+            i = skipSpace(i, to);
+            if (i == to) {
+               return false;
+            }
+            if (buffer[i] == '}') {
+               break;
+            }
+            if (buffer[i] != ',') {
+               return false;
+            }
+            i = skipSpace(i + 1, to);
+         }
+         if (skipSpace(i + 1, to) != to) {
+            return false;
+         }
+         for (int start : starts) {
+            if (start < 0) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      /**
+       * @return index of the closing quote, or -1 if missing or the string contains an escape
+       */
+      int closingQuote(int from, int to) {
+         for (int i = from; i < to; i++) {
+            if (buffer[i] == '"') {
+               return i;
+            }
+            if (buffer[i] == '\\') {
+               return -1;
+            }
+         }
+         return -1;
+      }
+
+      int fieldIndex(int from, int to) {
+         for (int field = 0; field < FIELD_COUNT; field++) {
+            byte[] name = FIELD_NAMES[field];
+            if (name.length == to - from && Arrays.equals(name, 0, name.length, buffer, from, to)) {
+               return field;
+            }
+         }
+         return -1;
+      }
+
+      int skipSpace(int from, int to) {
+         while (from < to && (buffer[from] == ' ' || buffer[from] == '\t')) {
+            from++;
+         }
+         return from;
+      }
+
+      /**
+       * @return 1 for true, 0 for false, ignoring case, otherwise MALFORMED
+       */
+      int parseBoolean(int from, int to) {
+         if (equalsIgnoreCase(from, to, "true")) {
+            return 1;
+         }
+         return equalsIgnoreCase(from, to, "false") ? 0 : MALFORMED;
+      }
+
+      boolean equalsIgnoreCase(int from, int to, String word) {
+         if (to - from != word.length()) {
+            return false;
+         }
+         for (int i = 0; i < word.length(); i++) {
+            if ((buffer[from + i] | 0x20) != word.charAt(i)) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      /**
+       * @return an optionally negative decimal integer of up to nine digits, otherwise MALFORMED
+       */
+      int parseCount(int from, int to) {
+         boolean negative = from < to && buffer[from] == '-';
+         if (negative) {
+            from++;
+         }
+         if (from == to || to - from > MAX_COUNT_DIGITS) {
+            return MALFORMED;
+         }
+         int value = 0;
+         for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+               return MALFORMED;
+            }
+            value = value * 10 + digit;
+         }
+         return negative ? -value : value;
+      }
+   }
+
+   private static byte[] ascii(String text) {
+      return text.getBytes(StandardCharsets.US_ASCII);
+   }
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package org.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and a latency histogram for a FlightSearchValidator
+ * Per condition it counts how often the condition was evaluated and how often it rejected the
+ * search, and it records the latency of every validate call in power-of-two nanosecond buckets.
+ * All counters are LongAdders, so threads updating them do not contend on one cache line.
+ * Instrumentation can be switched off at runtime; a disabled instance costs one volatile read per
+ * validation, and a validator without metrics costs nothing.
+ */
+public final class SearchMetrics {
+
+   /** Number of latency buckets; bucket i counts latencies in [2^(i-1), 2^i) nanoseconds, bucket 0 counts 0 */
+   public static final int LATENCY_BUCKETS = 64;
+
+   private static final int CONDITION_COUNT = SearchCondition.values().length;
+
+   private final LongAdder[] evaluations = new LongAdder[CONDITION_COUNT];
+   private final LongAdder[] rejections = new LongAdder[CONDITION_COUNT];
+   private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKETS];
+   private final LongAdder validations = new LongAdder();
+   private final LongAdder accepted = new LongAdder();
+   private final LongAdder totalNanos = new LongAdder();
+   private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+   private volatile boolean enabled = true;
+
+   /**
+    * Creates enabled metrics with all counters at zero
+    */
+   public SearchMetrics() {
+      for (int i = 0; i < CONDITION_COUNT; i++) {
+         evaluations[i] = new LongAdder();
+         rejections[i] = new LongAdder();
+      }
+      for (int i = 0; i < LATENCY_BUCKETS; i++) {
+         latencyBuckets[i] = new LongAdder();
+      }
+   }
+
+   /**
+    * @return true if validations are currently recorded
+    */
+   public boolean isEnabled() {
+      return enabled;
+   }
+
+   /**
+    * Turns recording on or off; counters keep their values while disabled
+    * @param enabled whether to record validations
+    */
+   public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+   }
+
+   void recordEvaluation(int condition) {
+      evaluations[condition].increment();
+   }
+
+   void recordRejection(int condition) {
+      rejections[condition].increment();
+   }
+
+   /**
+    * Records one completed validate call
+    */
+   void recordValidation(boolean wasAccepted, long elapsedNanos) {
+      validations.increment();
+      if (wasAccepted) {
+         accepted.increment();
+      }
+      long nanos = Math.max(0, elapsedNanos);
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      latencyBuckets[bucket(nanos)].increment();
+   }
+
+   /**
+    * @return the histogram bucket holding the given latency
+    */
+   static int bucket(long nanos) {
+      return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+   }
+
+   /**
+    * Reads every counter; concurrent updates may land on either side of the snapshot
+    * @return an immutable copy of the current values
+    */
+   public Snapshot snapshot() {
+      long[] evaluationCounts = new long[CONDITION_COUNT];
+      long[] rejectionCounts = new long[CONDITION_COUNT];
+      for (int i = 0; i < CONDITION_COUNT; i++) {
+         evaluationCounts[i] = evaluations[i].sum();
+         rejectionCounts[i] = rejections[i].sum();
+      }
+      long[] buckets = new long[LATENCY_BUCKETS];
+      for (int i = 0; i < LATENCY_BUCKETS; i++) {
+         buckets[i] = latencyBuckets[i].sum();
+      }
+      return new Snapshot(validations.sum(), accepted.sum(), totalNanos.sum(), maxNanos.get(),
+                          evaluationCounts, rejectionCounts, buckets);
+   }
+
+   /**
+    * Point-in-time copy of the metrics, suitable for exporting
+    */
+   public static final class Snapshot {
+      private final long validations;
+      private final long accepted;
+      private final long totalNanos;
+      private final long maxNanos;
+      private final long[] evaluations;
+      private final long[] rejections;
+      private final long[] latencyBuckets;
+
+      private Snapshot(long validations, long accepted, long totalNanos, long maxNanos,
+                       long[] evaluations, long[] rejections, long[] latencyBuckets) {
+         this.validations = validations;
+         this.accepted = accepted;
+         this.totalNanos = totalNanos;
+         this.maxNanos = maxNanos;
+         this.evaluations = evaluations;
+         this.rejections = rejections;
+         this.latencyBuckets = latencyBuckets;
+      }
+
+      /**
+       * @return the number of recorded validate calls
+       */
+      public long validations() {
+         return validations;
+      }
+
+      /**
+       * @return the number of recorded validate calls that accepted the search
+       */
+      public long accepted() {
+         return accepted;
+      }
+
+      /**
+       * @param condition a validation condition
+       * @return how many times the condition was evaluated; cache hits evaluate nothing
+       */
+      public long evaluations(SearchCondition condition) {
+         return evaluations[condition.ordinal()];
+      }
+
+      /**
+       * @param condition a validation condition
+       * @return how many searches the condition rejected
+       */
+      public long rejections(SearchCondition condition) {
+         return rejections[condition.ordinal()];
+      }
+
+      /**
+       * @param bucket bucket index, 0 to LATENCY_BUCKETS - 1
+       * @return the number of validations whose latency fell in the bucket
+       */
+      public long latencyCount(int bucket) {
+         return latencyBuckets[bucket];
+      }
+
+      /**
+       * @return the mean validate latency in nanoseconds, 0 if nothing was recorded
+       */
+      public double meanLatencyNanos() {
+         return validations == 0 ? 0 : totalNanos / (double) validations;
+      }
+
+      /**
+       * @return the slowest recorded validate latency in nanoseconds
+       */
+      public long maxLatencyNanos() {
+         return maxNanos;
+      }
+
+      /**
+       * Estimates a latency percentile from the histogram
+       * @param percentile between 0 and 100
+       * @return the upper bound in nanoseconds of the bucket holding the percentile, 0 if nothing was recorded
+       */
+      public long latencyPercentileNanos(double percentile) {
+         if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+         }
+         long total = 0;
+         for (long count : latencyBuckets) {
+            total += count;
+         }
+         long rank = (long) Math.ceil(total * percentile / 100);
+         long seen = 0;
+         for (int bucket = 0; bucket < LATENCY_BUCKETS; bucket++) {
+            seen += latencyBuckets[bucket];
+            if (seen >= rank && seen > 0) {
+               if (bucket == 0) {
+                  return 0;
+               }
+               long upperBound = bucket == LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+               return Math.min(maxNanos, upperBound);
+            }
+         }
+         return 0;
+      }
+
+      /**
+       * Flattens the snapshot into named values for a metrics exporter
+       * Names are validations, accepted, latency.mean, latency.p50, latency.p99, latency.max and
+       * condition.N.evaluations / condition.N.rejections with N the condition number
+       * @return the values in a stable order
+       */
+      public Map<String, Number> toMap() {
+         Map<String, Number> values = new LinkedHashMap<>();
+         values.put("validations", validations);
+         values.put("accepted", accepted);
+         values.put("latency.mean", meanLatencyNanos());
+         values.put("latency.p50", latencyPercentileNanos(50));
+         values.put("latency.p99", latencyPercentileNanos(99));
+         values.put("latency.max", maxNanos);
+         for (SearchCondition condition : SearchCondition.values()) {
+            values.put("condition." + condition.number() + ".evaluations", evaluations(condition));
+            values.put("condition." + condition.number() + ".rejections", rejections(condition));
+         }
+         return values;
+      }
+   }
+}
\ No newline at end of file
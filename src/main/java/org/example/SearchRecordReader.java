@@ -0,0 +1,178 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.example.SearchRecordWriter.*;
+
+/**
+ * Memory-mapped, random-access view of a file written by SearchRecordWriter
+ * Fields are read in place from the mapping with no parsing or copying. Files larger than one
+ * mapping are split into segments of a power-of-two number of records, so no record straddles two
+ * segments. The view is immutable and safe to share between threads.
+ */
+public final class SearchRecordReader implements Closeable {
+
+   // 2^26 records of 24 bytes stay below the 2 GB limit of a single mapping
+   private static final int DEFAULT_SEGMENT_SHIFT = 26;
+
+   private final FileChannel channel;
+   private final MappedByteBuffer[] segments;
+   private final int segmentShift;
+   private final long segmentMask;
+   private final long count;
+
+   private SearchRecordReader(FileChannel channel, MappedByteBuffer[] segments, int segmentShift, long count) {
+      this.channel = channel;
+      this.segments = segments;
+      this.segmentShift = segmentShift;
+      this.segmentMask = (1L << segmentShift) - 1;
+      this.count = count;
+   }
+
+   /**
+    * Maps a record file for reading
+    * @param file record file
+    * @return a reader over every complete record in the file
+    * @throws IOException if the file cannot be read or is not a record file
+    */
+   public static SearchRecordReader open(Path file) throws IOException {
+      return open(file, DEFAULT_SEGMENT_SHIFT);
+   }
+
+   static SearchRecordReader open(Path file, int segmentShift) throws IOException {
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+      try {
+         long size = channel.size();
+         if (size < HEADER_SIZE) {
+            throw new IOException("Not a search record file: " + file);
+         }
+         MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+         header.order(ByteOrder.LITTLE_ENDIAN);
+         if (header.getInt(0) != MAGIC || header.getShort(4) != VERSION || header.getShort(6) != RECORD_SIZE) {
+            throw new IOException("Not a search record file or unsupported version: " + file);
+         }
+
+         long count = (size - HEADER_SIZE) / RECORD_SIZE;
+         long recordsPerSegment = 1L << segmentShift;
+         MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((count + recordsPerSegment - 1) >>> segmentShift)];
+         for (int i = 0; i < segments.length; i++) {
+            long first = (long) i << segmentShift;
+            long records = Math.min(recordsPerSegment, count - first);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+         }
+         return new SearchRecordReader(channel, segments, segmentShift, count);
+      } catch (IOException | RuntimeException e) {
+         channel.close();
+         throw e;
+      }
+   }
+
+   /**
+    * @return the number of records in the file
+    */
+   public long count() {
+      return count;
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the departure date as an epoch day
+    */
+   public long departureDay(long index) {
+      return segment(index).getLong(offset(index) + DEPARTURE_DAY);
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the return date as an epoch day
+    */
+   public long returnDay(long index) {
+      return segment(index).getLong(offset(index) + RETURN_DAY);
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the departure airport as a packed code, see Airports.unpack
+    */
+   public int departureAirport(long index) {
+      return segment(index).getShort(offset(index) + DEPARTURE_AIRPORT);
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the destination airport as a packed code, see Airports.unpack
+    */
+   public int destinationAirport(long index) {
+      return segment(index).getShort(offset(index) + DESTINATION_AIRPORT);
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the SeatingClass id
+    */
+   public int seatingClass(long index) {
+      return (party(index) >>> CLASS_SHIFT) & 3;
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return whether emergency row seating was requested
+    */
+   public boolean emergencyRowSeating(long index) {
+      return (party(index) & EMERGENCY_ROW_BIT) != 0;
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the number of adult passengers
+    */
+   public int adultPassengerCount(long index) {
+      return party(index) & COUNT_MASK;
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the number of child passengers
+    */
+   public int childPassengerCount(long index) {
+      return (party(index) >>> CHILDREN_SHIFT) & COUNT_MASK;
+   }
+
+   /**
+    * @param index record index, 0 to count() - 1
+    * @return the number of infant passengers
+    */
+   public int infantPassengerCount(long index) {
+      return (party(index) >>> INFANTS_SHIFT) & COUNT_MASK;
+   }
+
+   /**
+    * Closes the file; mappings are released by the garbage collector once the reader is unreachable
+    */
+   @Override
+   public void close() throws IOException {
+      channel.close();
+   }
+
+   private int party(long index) {
+      return segment(index).getShort(offset(index) + PARTY);
+   }
+
+   private MappedByteBuffer segment(long index) {
+      if (index < 0 || index >= count) {
+         throw new IndexOutOfBoundsException("Record " + index + " of " + count);
+      }
+      return segments[(int) (index >>> segmentShift)];
+   }
+
+   private int offset(long index) {
+      return (int) (index & segmentMask) * RECORD_SIZE;
+   }
+}
\ No newline at end of file
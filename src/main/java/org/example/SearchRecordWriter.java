@@ -0,0 +1,141 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes validated searches as fixed-width binary records, read back with SearchRecordReader
+ * A file is a 16 byte header (magic, version, record size) followed by 24 byte little-endian records:
+ * departure and return epoch days as longs, departure and destination airports as packed codes
+ * (Airports.pack, so records stay meaningful across airport reloads) and one short holding the
+ * three passenger counts, the seating class id and the emergency row flag.
+ * Not thread-safe.
+ */
+public final class SearchRecordWriter implements Closeable {
+
+   static final int MAGIC = 0x46535231; // "FSR1"
+   static final short VERSION = 1;
+   static final int HEADER_SIZE = 16;
+   static final int RECORD_SIZE = 24;
+
+   static final int DEPARTURE_DAY = 0;
+   static final int RETURN_DAY = 8;
+   static final int DEPARTURE_AIRPORT = 16;
+   static final int DESTINATION_AIRPORT = 18;
+   static final int PARTY = 20;
+
+   // Layout of the PARTY short
+   static final int COUNT_BITS = 4;
+   static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+   static final int CHILDREN_SHIFT = 4;
+   static final int INFANTS_SHIFT = 8;
+   static final int CLASS_SHIFT = 12;
+   static final int EMERGENCY_ROW_BIT = 1 << 14;
+
+   private static final int RECORDS_PER_FLUSH = 4096;
+
+   private final FileChannel channel;
+   private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * RECORDS_PER_FLUSH).order(ByteOrder.LITTLE_ENDIAN);
+   private long count;
+
+   private SearchRecordWriter(FileChannel channel) {
+      this.channel = channel;
+   }
+
+   /**
+    * Creates or truncates a record file and writes its header
+    * @param file record file
+    * @return a writer positioned after the header
+    * @throws IOException if the file cannot be written
+    */
+   public static SearchRecordWriter create(Path file) throws IOException {
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                             StandardOpenOption.TRUNCATE_EXISTING);
+      SearchRecordWriter writer = new SearchRecordWriter(channel);
+      writer.buffer.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(0);
+      return writer;
+   }
+
+   /**
+    * Appends an accepted search
+    * @param criteria criteria returned by FlightSearchValidator.validate
+    * @throws IOException if the file cannot be written
+    * @throws IllegalArgumentException if a field cannot be encoded
+    */
+   public void write(SearchCriteria criteria) throws IOException {
+      write(criteria.departureEpochDay(), Airports.pack(criteria.departureAirportCode()), criteria.emergencyRowSeating(),
+            criteria.returnEpochDay(), Airports.pack(criteria.destinationAirportCode()), SeatingClass.id(criteria.seatingClass()),
+            criteria.adultPassengerCount(), criteria.childPassengerCount(), criteria.infantPassengerCount());
+   }
+
+   /**
+    * Appends an accepted search from already decoded fields
+    * @param departureAirport packed departure airport code
+    * @param destinationAirport packed destination airport code
+    * @param seatingClass SeatingClass id
+    * @throws IOException if the file cannot be written
+    * @throws IllegalArgumentException if a field cannot be encoded
+    */
+   public void write(long departureDay,       int departureAirport,   boolean emergencyRowSeating,
+                     long returnDay,          int destinationAirport, int seatingClass,
+                     int adultPassengerCount, int childPassengerCount, int infantPassengerCount) throws IOException {
+      if (departureAirport < 0 || departureAirport >= Airports.PACKED_CODE_SPACE
+            || destinationAirport < 0 || destinationAirport >= Airports.PACKED_CODE_SPACE) {
+         throw new IllegalArgumentException("Airport codes must be packed codes: " + departureAirport + ", " + destinationAirport);
+      }
+      if (!SeatingClass.isValid(seatingClass)) {
+         throw new IllegalArgumentException("Unknown seating class id: " + seatingClass);
+      }
+      if (((adultPassengerCount | childPassengerCount | infantPassengerCount) & ~COUNT_MASK) != 0) {
+         throw new IllegalArgumentException("Passenger counts must be between 0 and " + COUNT_MASK);
+      }
+      if (buffer.remaining() < RECORD_SIZE) {
+         flush();
+      }
+      int party = adultPassengerCount
+         | childPassengerCount << CHILDREN_SHIFT
+         | infantPassengerCount << INFANTS_SHIFT
+         | seatingClass << CLASS_SHIFT
+         | (emergencyRowSeating ? EMERGENCY_ROW_BIT : 0);
+      buffer.putLong(departureDay)
+            .putLong(returnDay)
+            .putShort((short) departureAirport)
+            .putShort((short) destinationAirport)
+            .putShort((short) party)
+            .putShort((short) 0);
+      count++;
+   }
+
+   /**
+    * @return the number of records written so far
+    */
+   public long count() {
+      return count;
+   }
+
+   /**
+    * Writes buffered records to the file
+    * @throws IOException if the file cannot be written
+    */
+   public void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+   @Override
+   public void close() throws IOException {
+      try {
+         flush();
+      } finally {
+         channel.close();
+      }
+   }
+}
\ No newline at end of file
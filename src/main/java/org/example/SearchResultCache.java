@@ -0,0 +1,202 @@
+package org.example;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of validation results for repeated identical searches
+ * Entries live in a fixed power-of-two table indexed by a 64-bit hash of the nine inputs; a new
+ * result replaces whatever occupied its slot, so the size never grows past the capacity. An entry
+ * stores its inputs and only answers an exact match, so a hash collision costs a miss, never a
+ * wrong result. Entries are tied to the day and airport snapshot they were computed for: condition 6
+ * depends on today and condition 11 on the airport list, so the table is emptied when the day rolls
+ * over and entries from an earlier snapshot are treated as misses.
+ * Lock-free and safe to share between threads.
+ */
+public final class SearchResultCache {
+
+   private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+   private final AtomicReferenceArray<Entry> slots;
+   private final int mask;
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private volatile long day = Long.MIN_VALUE;
+
+   /**
+    * @param capacity maximum number of cached results, rounded up to a power of two
+    * @throws IllegalArgumentException if the capacity is not between 1 and 2^30
+    */
+   public SearchResultCache(int capacity) {
+      if (capacity < 1 || capacity > 1 << 30) {
+         throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+      }
+      int size = Integer.highestOneBit(capacity - 1) << 1;
+      this.slots = new AtomicReferenceArray<>(Math.max(1, size));
+      this.mask = slots.length() - 1;
+   }
+
+   /**
+    * @return the number of slots, i.e. the most results held at once
+    */
+   public int capacity() {
+      return slots.length();
+   }
+
+   /**
+    * @return the number of lookups answered from the cache
+    */
+   public long hits() {
+      return hits.sum();
+   }
+
+   /**
+    * @return the number of lookups that had to run the validation chain
+    */
+   public long misses() {
+      return misses.sum();
+   }
+
+   /**
+    * Removes every cached result; the hit and miss counters are kept
+    */
+   public void clear() {
+      for (int i = 0; i < slots.length(); i++) {
+         slots.set(i, null);
+      }
+   }
+
+   /**
+    * Looks up the result of an identical search validated on the given day against the given snapshot
+    * @return the cached entry, or null on a miss
+    */
+   Entry get(long today, Airports airportTable,
+             String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+             String returnDate,       String destinationAirportCode, String seatingClass,
+             int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+
+      if (today != day) {
+         rollOver(today);
+      }
+      long hash = hash(departureDate, departureAirportCode, emergencyRowSeating,
+                       returnDate, destinationAirportCode, seatingClass,
+                       adultPassengerCount, childPassengerCount, infantPassengerCount);
+      Entry entry = slots.get((int) hash & mask);
+      if (entry != null && entry.hash == hash && entry.today == today && entry.airportTable == airportTable
+            && entry.matches(departureDate, departureAirportCode, emergencyRowSeating,
+                             returnDate, destinationAirportCode, seatingClass,
+                             adultPassengerCount, childPassengerCount, infantPassengerCount)) {
+         hits.increment();
+         return entry;
+      }
+      misses.increment();
+      return null;
+   }
+
+   /**
+    * Stores a validation result, replacing whatever occupied its slot
+    * @param criteria the accepted criteria, or null for a rejected search
+    */
+   void put(long today, Airports airportTable,
+            String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+            String returnDate,       String destinationAirportCode, String seatingClass,
+            int adultPassengerCount, int childPassengerCount,       int infantPassengerCount,
+            SearchCriteria criteria) {
+
+      long hash = hash(departureDate, departureAirportCode, emergencyRowSeating,
+                       returnDate, destinationAirportCode, seatingClass,
+                       adultPassengerCount, childPassengerCount, infantPassengerCount);
+      slots.set((int) hash & mask, new Entry(hash, today, airportTable,
+                                             departureDate, departureAirportCode, emergencyRowSeating,
+                                             returnDate, destinationAirportCode, seatingClass,
+                                             adultPassengerCount, childPassengerCount, infantPassengerCount,
+                                             criteria));
+   }
+
+   /**
+    * Empties the table once per new day; racing callers may both clear, which is harmless
+    */
+   private void rollOver(long today) {
+      day = today;
+      clear();
+   }
+
+   /**
+    * Combines the inputs into a 64-bit hash; String hash codes are cached by String itself
+    */
+   static long hash(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                    String returnDate,       String destinationAirportCode, String seatingClass,
+                    int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+      long h = Objects.hashCode(departureDate);
+      h = h * HASH_MULTIPLIER + Objects.hashCode(departureAirportCode);
+      h = h * HASH_MULTIPLIER + (emergencyRowSeating ? 1 : 0);
+      h = h * HASH_MULTIPLIER + Objects.hashCode(returnDate);
+      h = h * HASH_MULTIPLIER + Objects.hashCode(destinationAirportCode);
+      h = h * HASH_MULTIPLIER + Objects.hashCode(seatingClass);
+      h = h * HASH_MULTIPLIER + adultPassengerCount;
+      h = h * HASH_MULTIPLIER + childPassengerCount;
+      h = h * HASH_MULTIPLIER + infantPassengerCount;
+      return h ^ (h >>> 29) ^ (h >>> 47);
+   }
+
+   /**
+    * One cached result together with the exact inputs, day and airport snapshot it was computed for
+    */
+   static final class Entry {
+      final long hash;
+      final long today;
+      final Airports airportTable;
+      final String departureDate;
+      final String departureAirportCode;
+      final boolean emergencyRowSeating;
+      final String returnDate;
+      final String destinationAirportCode;
+      final String seatingClass;
+      final int adultPassengerCount;
+      final int childPassengerCount;
+      final int infantPassengerCount;
+      final SearchCriteria criteria;
+
+      Entry(long hash, long today, Airports airportTable,
+            String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+            String returnDate,       String destinationAirportCode, String seatingClass,
+            int adultPassengerCount, int childPassengerCount,       int infantPassengerCount,
+            SearchCriteria criteria) {
+         this.hash = hash;
+         this.today = today;
+         this.airportTable = airportTable;
+         this.departureDate = departureDate;
+         this.departureAirportCode = departureAirportCode;
+         this.emergencyRowSeating = emergencyRowSeating;
+         this.returnDate = returnDate;
+         this.destinationAirportCode = destinationAirportCode;
+         this.seatingClass = seatingClass;
+         this.adultPassengerCount = adultPassengerCount;
+         this.childPassengerCount = childPassengerCount;
+         this.infantPassengerCount = infantPassengerCount;
+         this.criteria = criteria;
+      }
+
+      /**
+       * @return the accepted criteria, or null if the search was rejected
+       */
+      SearchCriteria criteria() {
+         return criteria;
+      }
+
+      boolean matches(String departureDate,    String departureAirportCode,   boolean emergencyRowSeating,
+                      String returnDate,       String destinationAirportCode, String seatingClass,
+                      int adultPassengerCount, int childPassengerCount,       int infantPassengerCount) {
+         return this.adultPassengerCount == adultPassengerCount
+             && this.childPassengerCount == childPassengerCount
+             && this.infantPassengerCount == infantPassengerCount
+             && this.emergencyRowSeating == emergencyRowSeating
+             && Objects.equals(this.departureDate, departureDate)
+             && Objects.equals(this.returnDate, returnDate)
+             && Objects.equals(this.departureAirportCode, departureAirportCode)
+             && Objects.equals(this.destinationAirportCode, destinationAirportCode)
+             && Objects.equals(this.seatingClass, seatingClass);
+      }
+   }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.example.SearchRecordWriter.*;
+
+/**
+ * Off-heap store of the accepted search of each session, keyed by session id
+ * Sessions live in fixed 32 byte slots of one direct buffer: the session id followed by the
+ * 24 byte record layout of SearchRecordWriter, whose padding short marks the slot as used. The
+ * buffer is an open-addressing table with linear probing and backward-shift eviction, sized
+ * once for the capacity, so storing millions of sessions adds no objects for the collector to
+ * trace. get() rebuilds the criteria with airport codes in lowercase, the seating class label
+ * and dates as DD/MM/YYYY.
+ * Thread-safe; operations synchronize on the store.
+ */
+public final class SearchSessionStore {
+
+   /** Bytes per session slot */
+   public static final int SLOT_SIZE = 32;
+
+   /** Most sessions one store can hold, keeping the table within a single direct buffer */
+   public static final int MAX_CAPACITY = 3 << 23;
+
+   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+   // Slot layout: session id, then a SearchRecordWriter record
+   private static final int SESSION_ID = 0;
+   private static final int RECORD = 8;
+   private static final int STATE = RECORD + RECORD_SIZE - 2;
+   private static final short USED = 1;
+
+   private final ByteBuffer slots;
+   private final int mask;
+   private final int capacity;
+   private int size;
+
+   /**
+    * Allocates the off-heap table; its memory is released when the store is garbage collected
+    * @param capacity most sessions held at once, 1 to MAX_CAPACITY
+    */
+   public SearchSessionStore(int capacity) {
+      if (capacity < 1 || capacity > MAX_CAPACITY) {
+         throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+      }
+      // At most three quarters of the slots are used so probe sequences stay short
+      int slotCount = Integer.highestOneBit(Math.max(2, (int) ((capacity * 4L + 2) / 3)) - 1) << 1;
+      this.slots = ByteBuffer.allocateDirect(slotCount * SLOT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      this.mask = slotCount - 1;
+      this.capacity = capacity;
+   }
+
+   /**
+    * @return the most sessions held at once
+    */
+   public int capacity() {
+      return capacity;
+   }
+
+   /**
+    * @return the number of sessions held
+    */
+   public synchronized int size() {
+      return size;
+   }
+
+   /**
+    * Stores or replaces the accepted search of a session
+    * @param sessionId session id
+    * @param criteria criteria returned by FlightSearchValidator.validate
+    * @return true if stored, false if the session is new and the store is full
+    * @throws IllegalArgumentException if a field cannot be encoded, see SearchRecordWriter
+    */
+   public synchronized boolean put(long sessionId, SearchCriteria criteria) {
+      int party = encodeParty(criteria);
+      int departureAirport = encodeAirport(criteria.departureAirportCode());
+      int destinationAirport = encodeAirport(criteria.destinationAirportCode());
+
+      int slot = find(sessionId);
+      if (!isUsed(slot)) {
+         if (size == capacity) {
+            return false;
+         }
+         size++;
+      }
+      int offset = slot * SLOT_SIZE;
+      slots.putLong(offset + SESSION_ID, sessionId)
+           .putLong(offset + RECORD + DEPARTURE_DAY, criteria.departureEpochDay())
+           .putLong(offset + RECORD + RETURN_DAY, criteria.returnEpochDay())
+           .putShort(offset + RECORD + DEPARTURE_AIRPORT, (short) departureAirport)
+           .putShort(offset + RECORD + DESTINATION_AIRPORT, (short) destinationAirport)
+           .putShort(offset + RECORD + PARTY, (short) party)
+           .putShort(offset + STATE, USED);
+      return true;
+   }
+
+   /**
+    * @param sessionId session id
+    * @return the stored search of the session, or null if there is none
+    */
+   public synchronized SearchCriteria get(long sessionId) {
+      int slot = find(sessionId);
+      if (!isUsed(slot)) {
+         return null;
+      }
+      int offset = slot * SLOT_SIZE;
+      long departureDay = slots.getLong(offset + RECORD + DEPARTURE_DAY);
+      long returnDay = slots.getLong(offset + RECORD + RETURN_DAY);
+      int party = slots.getShort(offset + RECORD + PARTY);
+      return new SearchCriteria(LocalDate.ofEpochDay(departureDay).format(DATE_FORMAT),
+                                Airports.unpack(slots.getShort(offset + RECORD + DEPARTURE_AIRPORT)),
+                                (party & EMERGENCY_ROW_BIT) != 0,
+                                LocalDate.ofEpochDay(returnDay).format(DATE_FORMAT),
+                                Airports.unpack(slots.getShort(offset + RECORD + DESTINATION_AIRPORT)),
+                                SeatingClass.fromId((party >>> CLASS_SHIFT) & 3).label(),
+                                party & COUNT_MASK, (party >>> CHILDREN_SHIFT) & COUNT_MASK, (party >>> INFANTS_SHIFT) & COUNT_MASK,
+                                departureDay, returnDay);
+   }
+
+   /**
+    * @param sessionId session id
+    * @return true if a search is stored for the session
+    */
+   public synchronized boolean contains(long sessionId) {
+      return isUsed(find(sessionId));
+   }
+
+   /**
+    * Removes the stored search of a session
+    * @param sessionId session id
+    * @return true if the session had a stored search
+    */
+   public synchronized boolean evict(long sessionId) {
+      int slot = find(sessionId);
+      if (!isUsed(slot)) {
+         return false;
+      }
+      // Backward-shift deletion: pull later entries of the probe run into the gap so lookups
+      // never need tombstones
+      int gap = slot;
+      int next = (gap + 1) & mask;
+      while (isUsed(next)) {
+         int home = home(slots.getLong(next * SLOT_SIZE + SESSION_ID));
+         if (((next - home) & mask) >= ((next - gap) & mask)) {
+            copySlot(next, gap);
+            gap = next;
+         }
+         next = (next + 1) & mask;
+      }
+      slots.putShort(gap * SLOT_SIZE + STATE, (short) 0);
+      size--;
+      return true;
+   }
+
+   /**
+    * Removes every stored search
+    */
+   public synchronized void clear() {
+      for (int slot = 0; slot <= mask; slot++) {
+         slots.putShort(slot * SLOT_SIZE + STATE, (short) 0);
+      }
+      size = 0;
+   }
+
+   /**
+    * @return the slot holding the session, or the free slot ending its probe run
+    */
+   private int find(long sessionId) {
+      int slot = home(sessionId);
+      while (isUsed(slot) && slots.getLong(slot * SLOT_SIZE + SESSION_ID) != sessionId) {
+         slot = (slot + 1) & mask;
+      }
+      return slot;
+   }
+
+   private int home(long sessionId) {
+      // MurmurHash3 finalizer, so sequential session ids spread over the table
+      long h = sessionId;
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return (int) h & mask;
+   }
+
+   private boolean isUsed(int slot) {
+      return slots.getShort(slot * SLOT_SIZE + STATE) == USED;
+   }
+
+   private void copySlot(int from, int to) {
+      int source = from * SLOT_SIZE;
+      int target = to * SLOT_SIZE;
+      for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+         slots.putLong(target + i, slots.getLong(source + i));
+      }
+   }
+
+   private static int encodeAirport(String code) {
+      int packed = Airports.pack(code);
+      if (packed < 0) {
+         throw new IllegalArgumentException("Invalid airport code: " + code);
+      }
+      return packed;
+   }
+
+   private static int encodeParty(SearchCriteria criteria) {
+      int seatingClass = SeatingClass.id(criteria.seatingClass());
+      if (!SeatingClass.isValid(seatingClass)) {
+         throw new IllegalArgumentException("Unknown seating class: " + criteria.seatingClass());
+      }
+      int adults = criteria.adultPassengerCount();
+      int children = criteria.childPassengerCount();
+      int infants = criteria.infantPassengerCount();
+      if (((adults | children | infants) & ~COUNT_MASK) != 0) {
+         throw new IllegalArgumentException("Passenger counts must be between 0 and " + COUNT_MASK);
+      }
+      return adults
+         | children << CHILDREN_SHIFT
+         | infants << INFANTS_SHIFT
+         | seatingClass << CLASS_SHIFT
+         | (criteria.emergencyRowSeating() ? EMERGENCY_ROW_BIT : 0);
+   }
+}
\ No newline at end of file
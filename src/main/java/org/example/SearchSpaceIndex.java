@@ -0,0 +1,257 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Index of every valid date-independent search: origin, destination, seating class, emergency row
+ * and party composition
+ * Conditions 1-5, 9 and 10 depend only on the party and class, and condition 11 only on the
+ * airport pair, so the valid search space is the product of the valid pairs and the valid parties.
+ * Both factors are enumerated once with the validator's own rules: the pairs as one row of bits
+ * per origin, with per-origin and per-destination totals, and the parties as sorted int keys.
+ * Counts are then answered in constant time or two binary searches instead of validating the
+ * cartesian product. Airport ids refer to the snapshot returned by airports().
+ */
+public final class SearchSpaceIndex {
+
+   /** Wildcard accepted by count and forEach for any airport or seating class; distinct from every unknown id */
+   public static final int ANY = Integer.MIN_VALUE;
+
+   /**
+    * Receives the searches enumerated by forEach
+    */
+   @FunctionalInterface
+   public interface Visitor {
+      void accept(int originAirport, int destinationAirport, int seatingClass, boolean emergencyRow,
+                  int adultPassengerCount, int childPassengerCount, int infantPassengerCount);
+   }
+
+   // Party key layout: class, emergency row, then the three counts, so keys sort by class first
+   private static final int COUNT_BITS = 4;
+   private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+   private static final int EMERGENCY_ROW_SHIFT = 3 * COUNT_BITS;
+   private static final int CLASS_SHIFT = EMERGENCY_ROW_SHIFT + 1;
+
+   private static final int AIRPORT_CONDITIONS = SearchCondition.AIRPORTS.bit();
+
+   private final Airports airports;
+   private final int wordsPerRow;
+
+   // Bit destination of row origin is set for every valid pair; row i starts at i * wordsPerRow
+   private final long[] pairs;
+
+   // Valid pairs in total, leaving each origin and arriving at each destination
+   private final int pairCount;
+   private final int[] originPairs;
+   private final int[] destinationPairs;
+
+   // Party keys of every valid class, emergency row and passenger combination, ascending
+   private final int[] parties;
+
+   private SearchSpaceIndex(Airports airports, int wordsPerRow, long[] pairs, int pairCount,
+                            int[] originPairs, int[] destinationPairs, int[] parties) {
+      this.airports = airports;
+      this.wordsPerRow = wordsPerRow;
+      this.pairs = pairs;
+      this.pairCount = pairCount;
+      this.originPairs = originPairs;
+      this.destinationPairs = destinationPairs;
+      this.parties = parties;
+   }
+
+   /**
+    * Enumerates the valid search space of a validator against its current airport snapshot,
+    * including its route index if one is attached
+    * @param validator validator whose rules decide validity
+    * @return the index
+    */
+   public static SearchSpaceIndex build(FlightSearchValidator validator) {
+      Airports airportTable = validator.airports().current();
+      int count = airportTable.count();
+      int wordsPerRow = (count + 63) >>> 6;
+      long words = (long) count * wordsPerRow;
+      if (words > Integer.MAX_VALUE - 8) {
+         throw new IllegalArgumentException("Search space index for " + count + " airports is too large");
+      }
+
+      long[] pairs = new long[(int) words];
+      int pairCount = 0;
+      int[] originPairs = new int[count];
+      int[] destinationPairs = new int[count];
+      for (int origin = 0; origin < count; origin++) {
+         for (int destination = 0; destination < count; destination++) {
+            if (validator.checkResolved(AIRPORT_CONDITIONS, 0, origin, false, 0, destination, 0, 0, 0, 0, airportTable) == 0) {
+               pairs[origin * wordsPerRow + (destination >>> 6)] |= 1L << destination;
+               pairCount++;
+               originPairs[origin]++;
+               destinationPairs[destination]++;
+            }
+         }
+      }
+
+      int[] parties = new int[16];
+      int partyCount = 0;
+      for (int seatingClass = 0; seatingClass < SeatingClass.count(); seatingClass++) {
+         for (int row = 0; row < 2; row++) {
+            boolean emergencyRow = row == 1;
+            for (int adults = 0; adults <= FlightSearchValidator.MAX_PASSENGERS; adults++) {
+               for (int children = 0; children <= FlightSearchValidator.MAX_PASSENGERS; children++) {
+                  for (int infants = 0; infants <= FlightSearchValidator.MAX_PASSENGERS; infants++) {
+                     if (validator.checkResolved(FlightSearchValidator.PARTY_CONDITIONS, 0, 0, emergencyRow, 0, 0, seatingClass,
+                                                 adults, children, infants, airportTable) == 0) {
+                        if (partyCount == parties.length) {
+                           parties = Arrays.copyOf(parties, partyCount * 2);
+                        }
+                        parties[partyCount++] = partyKey(seatingClass, emergencyRow, adults, children, infants);
+                     }
+                  }
+               }
+            }
+         }
+      }
+      return new SearchSpaceIndex(airportTable, wordsPerRow, pairs, pairCount, originPairs, destinationPairs,
+                                  Arrays.copyOf(parties, partyCount));
+   }
+
+   /**
+    * @return the snapshot the airport ids of this index refer to
+    */
+   public Airports airports() {
+      return airports;
+   }
+
+   /**
+    * @return the number of valid date-independent searches
+    */
+   public long size() {
+      return (long) pairCount * parties.length;
+   }
+
+   /**
+    * Counts the valid searches matching a query
+    * @param originAirport airport id of the origin, or ANY
+    * @param destinationAirport airport id of the destination, or ANY
+    * @param seatingClass SeatingClass id, or ANY
+    * @return the number of valid searches
+    */
+   public long count(int originAirport, int destinationAirport, int seatingClass) {
+      return (long) pairCount(originAirport, destinationAirport) * partyCount(seatingClass);
+   }
+
+   /**
+    * @param originAirport airport id of the origin, or ANY
+    * @param destinationAirport airport id of the destination, or ANY
+    * @return the number of valid airport pairs matching the query
+    */
+   public int pairCount(int originAirport, int destinationAirport) {
+      if (originAirport == ANY) {
+         if (destinationAirport == ANY) {
+            return pairCount;
+         }
+         return airports.isValid(destinationAirport) ? destinationPairs[destinationAirport] : 0;
+      }
+      if (!airports.isValid(originAirport)) {
+         return 0;
+      }
+      if (destinationAirport == ANY) {
+         return originPairs[originAirport];
+      }
+      return airports.isValid(destinationAirport) && isPair(originAirport, destinationAirport) ? 1 : 0;
+   }
+
+   /**
+    * @param seatingClass SeatingClass id, or ANY
+    * @return the number of valid parties, with and without an emergency row, in the class
+    */
+   public int partyCount(int seatingClass) {
+      return partyTo(seatingClass) - partyFrom(seatingClass);
+   }
+
+   /**
+    * Visits the valid searches matching a query, ordered by origin, destination, class, emergency
+    * row, adults, children and infants
+    * Takes the same query parameters as count
+    * @param visitor receiver of each search
+    */
+   public void forEach(int originAirport, int destinationAirport, int seatingClass, Visitor visitor) {
+      if ((originAirport != ANY && !airports.isValid(originAirport))
+            || (destinationAirport != ANY && !airports.isValid(destinationAirport))) {
+         return;
+      }
+      int firstOrigin = originAirport == ANY ? 0 : originAirport;
+      int lastOrigin = originAirport == ANY ? airports.count() - 1 : originAirport;
+      int partyFrom = partyFrom(seatingClass);
+      int partyTo = partyTo(seatingClass);
+      for (int origin = firstOrigin; origin <= lastOrigin; origin++) {
+         if (destinationAirport != ANY) {
+            if (isPair(origin, destinationAirport)) {
+               visitParties(origin, destinationAirport, partyFrom, partyTo, visitor);
+            }
+            continue;
+         }
+         int row = origin * wordsPerRow;
+         for (int w = 0; w < wordsPerRow; w++) {
+            long word = pairs[row + w];
+            while (word != 0) {
+               int destination = (w << 6) + Long.numberOfTrailingZeros(word);
+               word &= word - 1;
+               visitParties(origin, destination, partyFrom, partyTo, visitor);
+            }
+         }
+      }
+   }
+
+   private void visitParties(int origin, int destination, int partyFrom, int partyTo, Visitor visitor) {
+      for (int party = partyFrom; party < partyTo; party++) {
+         int key = parties[party];
+         visitor.accept(origin, destination, key >>> CLASS_SHIFT, ((key >>> EMERGENCY_ROW_SHIFT) & 1) != 0,
+                        (key >>> (2 * COUNT_BITS)) & COUNT_MASK, (key >>> COUNT_BITS) & COUNT_MASK, key & COUNT_MASK);
+      }
+   }
+
+   /**
+    * @return true if the pair of known ids is valid
+    */
+   private boolean isPair(int originAirport, int destinationAirport) {
+      return (pairs[originAirport * wordsPerRow + (destinationAirport >>> 6)] & (1L << destinationAirport)) != 0;
+   }
+
+   private int partyFrom(int seatingClass) {
+      if (seatingClass == ANY) {
+         return 0;
+      }
+      return SeatingClass.isValid(seatingClass) ? lowerBound(parties, seatingClass << CLASS_SHIFT) : 0;
+   }
+
+   private int partyTo(int seatingClass) {
+      if (seatingClass == ANY) {
+         return parties.length;
+      }
+      return SeatingClass.isValid(seatingClass) ? lowerBound(parties, (seatingClass + 1) << CLASS_SHIFT) : 0;
+   }
+
+   private static int partyKey(int seatingClass, boolean emergencyRow, int adults, int children, int infants) {
+      return seatingClass << CLASS_SHIFT
+         | (emergencyRow ? 1 : 0) << EMERGENCY_ROW_SHIFT
+         | adults << (2 * COUNT_BITS)
+         | children << COUNT_BITS
+         | infants;
+   }
+
+   /**
+    * @return the index of the first key not below the given key
+    */
+   private static int lowerBound(int[] keys, int key) {
+      int low = 0;
+      int high = keys.length;
+      while (low < high) {
+         int middle = (low + high) >>> 1;
+         if (keys[middle] < key) {
+            low = middle + 1;
+         } else {
+            high = middle;
+         }
+      }
+      return low;
+   }
+}
\ No newline at end of file
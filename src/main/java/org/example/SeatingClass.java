@@ -0,0 +1,122 @@
+package org.example;
+
+/**
+ * Seating classes offered by WorldWanderer
+ * The ordinal doubles as the seating class id used by the validation rules
+ */
+public enum SeatingClass {
+   ECONOMY("economy"),
+   PREMIUM_ECONOMY("premium economy"),
+   BUSINESS("business"),
+   FIRST("first");
+
+   /** Id returned for labels that are not a seating class */
+   public static final int UNKNOWN = -1;
+
+   private static final SeatingClass[] VALUES = values();
+
+   private final String label;
+
+   SeatingClass(String label) {
+      this.label = label;
+   }
+
+   /**
+    * @return the label used in search requests, e.g. "premium economy"
+    */
+   public String label() {
+      return label;
+   }
+
+   /**
+    * Looks up a seating class label, ignoring case, without allocating
+    * @param label seating class label
+    * @return the seating class id, or UNKNOWN
+    */
+   public static int id(CharSequence label) {
+      if (label == null) {
+         return UNKNOWN;
+      }
+      for (SeatingClass seatingClass : VALUES) {
+         if (seatingClass.matches(label)) {
+            return seatingClass.ordinal();
+         }
+      }
+      return UNKNOWN;
+   }
+
+   /**
+    * Looks up a seating class label held as ASCII bytes, ignoring case and without copying the bytes
+    * @param bytes buffer holding the label
+    * @param offset index of the first byte of the label
+    * @param length number of bytes in the label
+    * @return the seating class id, or UNKNOWN
+    */
+   public static int id(byte[] bytes, int offset, int length) {
+      for (SeatingClass seatingClass : VALUES) {
+         if (seatingClass.matches(bytes, offset, length)) {
+            return seatingClass.ordinal();
+         }
+      }
+      return UNKNOWN;
+   }
+
+   private boolean matches(byte[] bytes, int offset, int length) {
+      if (length != label.length()) {
+         return false;
+      }
+      for (int i = 0; i < length; i++) {
+         int c = bytes[offset + i];
+         if (c >= 'A' && c <= 'Z') {
+            c += 'a' - 'A';
+         }
+         if (c != label.charAt(i)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Compares the label to this class's label with ASCII case folding
+    */
+   private boolean matches(CharSequence candidate) {
+      int length = label.length();
+      if (candidate.length() != length) {
+         return false;
+      }
+      for (int i = 0; i < length; i++) {
+         char c = candidate.charAt(i);
+         if (c >= 'A' && c <= 'Z') {
+            c += 'a' - 'A';
+         }
+         if (c != label.charAt(i)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * @return the number of seating classes; valid ids are 0 to count() - 1
+    */
+   public static int count() {
+      return VALUES.length;
+   }
+
+   /**
+    * @param id seating class id
+    * @return true if the id belongs to a seating class
+    */
+   public static boolean isValid(int id) {
+      return id >= 0 && id < VALUES.length;
+   }
+
+   /**
+    * @param id seating class id
+    * @return the seating class for a valid id
+    */
+   public static SeatingClass fromId(int id) {
+      return VALUES[id];
+   }
+}
\ No newline at end of file
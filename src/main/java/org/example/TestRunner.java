@@ -12,7 +12,9 @@ public class TestRunner {
         System.out.println("Demonstrating 17 Test Methods with 35+ Test Data Points");
         System.out.println();
         
-        FlightSearch flightSearch = new FlightSearch();
+        // Pin "today" so the fixed demo dates below stay in the future
+        java.time.LocalDate demoToday = java.time.LocalDate.of(2025, 12, 1);
+        FlightSearch flightSearch = new FlightSearch(new FlightSearchValidator(SearchClock.fixed(demoToday)));
         
         // Set up valid future dates for testing
         String futureDate = "25/12/2025";
@@ -166,7 +168,7 @@ public class TestRunner {
         // Test 6.2: Today's date
         totalTests++;
         System.out.println("Test 6.2: Today's departure date");
-        String today = java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        String today = demoToday.format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy"));
         boolean test6_2 = flightSearch.runFlightSearch(today, "syd", false, returnDate, "mel", "economy", 1, 0, 0);
         System.out.println("Result: " + (test6_2 ? "PASS" : "FAIL"));
         if (test6_2) testsPassed++;
@@ -0,0 +1,59 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JUnit 5 test class for adaptive condition ordering
+ */
+public class AdaptiveRuleOrderTest {
+
+    private static final SearchClock CLOCK = SearchClock.fixed(LocalDate.of(2030, 1, 1));
+
+    /**
+     * Conditions that reject most of the traffic move to the front of the chain
+     */
+    @Test
+    void testFrequentRejectionsMoveFirst() {
+        AdaptiveRuleOrder ruleOrder = new AdaptiveRuleOrder(1);
+        FlightSearchValidator validator = new FlightSearchValidator(CLOCK).withAdaptiveRuleOrder(ruleOrder);
+
+        for (int i = 0; i < 256; i++) {
+            // Alternate between too many passengers and an unknown airport
+            if (i % 2 == 0) {
+                validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 10, 0, 0);
+            } else {
+                validator.validate("10/01/2030", "syd", false, "20/01/2030", "xxx", "economy", 1, 0, 0);
+            }
+        }
+
+        List<SearchCondition> order = ruleOrder.order();
+        assertEquals(256, ruleOrder.samples());
+        assertEquals(128, ruleOrder.rejections(SearchCondition.PASSENGER_COUNT));
+        assertEquals(128, ruleOrder.rejections(SearchCondition.AIRPORTS));
+        assertEquals(Set.of(SearchCondition.PASSENGER_COUNT, SearchCondition.AIRPORTS), Set.copyOf(order.subList(0, 2)),
+            "Rejecting conditions should be evaluated first, order was " + order);
+        assertEquals(SearchCondition.values().length, order.size());
+    }
+
+    /**
+     * Reordering never changes which searches are accepted
+     */
+    @Test
+    void testSameOutcomeAsFixedOrder() {
+        FlightSearchValidator fixed = new FlightSearchValidator(CLOCK);
+        AdaptiveRuleOrder ruleOrder = new AdaptiveRuleOrder(4);
+        FlightSearchValidator adaptive = fixed.withAdaptiveRuleOrder(ruleOrder);
+        RandomSearches searches = new RandomSearches(11);
+
+        for (int i = 0; i < 20_000; i++) {
+            RandomSearches.Search search = searches.next();
+            assertEquals(search.validate(fixed), search.validate(adaptive), "Adaptive validation disagrees on search " + i);
+        }
+        assertTrue(ruleOrder.samples() > 0, "Should have sampled some validations");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * JUnit 5 test class for file-backed airport reference data
+ */
+public class AirportRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Codes are read from the file, ignoring comments, blank lines and extra columns
+     */
+    @Test
+    void testLoadFromFile() throws IOException {
+        Path file = directory.resolve("airports.csv");
+        Files.writeString(file, "# code,name\nSYD,Sydney\n\nakl,Auckland\nsyd,duplicate\n");
+
+        Airports airports = AirportRegistry.load(file).current();
+
+        assertEquals(2, airports.count());
+        assertEquals(0, airports.id("syd"));
+        assertEquals(1, airports.id("AKL"));
+        assertEquals("akl", airports.code(1));
+        assertEquals(Airports.UNKNOWN, airports.id("mel"));
+    }
+
+    /**
+     * A changed file is swapped in as a whole; validations pick it up without a restart
+     */
+    @Test
+    void testReloadSwapsSnapshot() throws IOException {
+        Path file = directory.resolve("airports.txt");
+        Files.writeString(file, "syd\nmel\n");
+        AirportRegistry registry = AirportRegistry.load(file);
+        FlightSearchValidator validator = new FlightSearchValidator(registry);
+        String departure = LocalDate.now().plusDays(10).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+        assertNull(validator.validate(departure, "syd", false, departure, "akl", "economy", 1, 0, 0),
+            "Should reject an airport missing from the file");
+        assertFalse(registry.reloadIfModified(), "Should not reload an unchanged file");
+
+        Airports before = registry.current();
+        Files.writeString(file, "syd\nmel\nakl\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        assertTrue(registry.reloadIfModified(), "Should reload a changed file");
+
+        assertNotSame(before, registry.current());
+        assertEquals(2, before.count(), "Earlier snapshot should be left untouched");
+        assertNotNull(validator.validate(departure, "syd", false, departure, "akl", "economy", 1, 0, 0),
+            "Should accept an airport added to the file");
+    }
+
+    /**
+     * A bad file is rejected and the previous snapshot stays in use
+     */
+    @Test
+    void testFailedReloadKeepsSnapshot() throws IOException {
+        Path file = directory.resolve("airports.txt");
+        Files.writeString(file, "syd\nmel\n");
+        AirportRegistry registry = AirportRegistry.load(file);
+        Airports before = registry.current();
+
+        Files.writeString(file, "syd\nme1\n");
+        IOException error = assertThrows(IOException.class, registry::reload);
+        assertTrue(error.getMessage().contains("line 2"), "Should report the bad line");
+        assertSame(before, registry.current());
+    }
+}
\ No newline at end of file
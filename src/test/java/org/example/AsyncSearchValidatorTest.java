@@ -0,0 +1,129 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JUnit 5 test class for the asynchronous validation facade
+ */
+public class AsyncSearchValidatorTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    /**
+     * Futures complete with the same result as synchronous validation
+     */
+    @Test
+    void testCompletesWithValidationResult() throws Exception {
+        try (AsyncSearchValidator async = new AsyncSearchValidator(VALIDATOR, 16)) {
+            CompletableFuture<SearchCriteria> accepted =
+                async.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 1, 0);
+            CompletableFuture<SearchCriteria> rejected =
+                async.submit("10/01/2030", "syd", false, "20/01/2030", "syd", "economy", 2, 1, 0);
+
+            assertEquals(VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 1, 0),
+                accepted.get(5, TimeUnit.SECONDS));
+            assertNull(rejected.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Tens of thousands of searches can be in flight on virtual threads at once, and the bound is enforced
+     */
+    @Test
+    void testHoldsTensOfThousandsInFlight() throws Exception {
+        int inFlight = 20_000;
+        CountDownLatch gate = new CountDownLatch(1);
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Every task parks on the gate first, standing in for I/O in the surrounding request
+            Executor gated = task -> virtualThreads.execute(() -> {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                task.run();
+            });
+            AsyncSearchValidator async = new AsyncSearchValidator(VALIDATOR, inFlight, gated);
+
+            List<CompletableFuture<SearchCriteria>> futures = new ArrayList<>(inFlight);
+            for (int i = 0; i < inFlight; i++) {
+                futures.add(async.trySubmit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1 + i % 9, 0, 0));
+            }
+            assertEquals(inFlight, async.inFlight());
+
+            CompletableFuture<SearchCriteria> overflow =
+                async.trySubmit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0);
+            ExecutionException refused = assertThrows(ExecutionException.class, overflow::get);
+            assertInstanceOf(RejectedExecutionException.class, refused.getCause(), "Should push back when full");
+
+            gate.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+            for (CompletableFuture<SearchCriteria> future : futures) {
+                assertNotNull(future.join());
+            }
+            async.close();
+        }
+    }
+
+    /**
+     * Several producers pushing far more searches than the bound all complete, throttled by submit()
+     */
+    @Test
+    void testThroughputUnderBackpressure() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        try (AsyncSearchValidator async = new AsyncSearchValidator(VALIDATOR, 1_000);
+             ExecutorService producerThreads = Executors.newFixedThreadPool(producers)) {
+            List<CompletableFuture<Long>> accepted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                accepted.add(CompletableFuture.supplyAsync(() -> {
+                    List<CompletableFuture<SearchCriteria>> results = new ArrayList<>(perProducer);
+                    try {
+                        for (int i = 0; i < perProducer; i++) {
+                            results.add(async.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1 + i % 10, 0, 0));
+                        }
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return results.stream().map(CompletableFuture::join).filter(r -> r != null).count();
+                }, producerThreads));
+            }
+
+            long total = 0;
+            for (CompletableFuture<Long> producer : accepted) {
+                total += producer.get(60, TimeUnit.SECONDS);
+            }
+
+            // 1 to 9 passengers are accepted, 10 are rejected
+            assertEquals(producers * perProducer * 9L / 10, total);
+            assertTrue(async.inFlight() <= async.maxInFlight());
+        }
+    }
+
+    /**
+     * A closed facade refuses new searches
+     */
+    @Test
+    void testRejectsAfterClose() {
+        AsyncSearchValidator async = new AsyncSearchValidator(VALIDATOR, 4);
+        async.close();
+        assertThrows(RejectedExecutionException.class,
+            () -> async.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0));
+        assertTrue(async.trySubmit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0)
+            .isCompletedExceptionally());
+        assertThrows(IllegalArgumentException.class, () -> new AsyncSearchValidator(VALIDATOR, 0));
+    }
+}
\ No newline at end of file
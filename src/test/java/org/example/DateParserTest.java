@@ -0,0 +1,74 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * JUnit 5 test class for DateParser
+ * Checks the allocation-free parser against LocalDate.parse with the "dd/MM/yyyy" pattern
+ */
+public class DateParserTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Reference result using the formatter previously used by FlightSearch
+     */
+    private static long referenceEpochDay(String text) {
+        try {
+            return LocalDate.parse(text, FORMATTER).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return DateParser.INVALID;
+        }
+    }
+
+    /**
+     * Edge cases: field widths, ranges, SMART day clamping, signed and long years, stray characters
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "01/01/2027", "31/12/2027", "29/02/2028", "29/02/2027", "30/02/2028", "31/04/2027",
+        "32/01/2027", "00/01/2027", "01/00/2027", "01/13/2027", "01/01/0000", "01/01/0001",
+        "01/01/9999", "01/01/+2027", "01/01/+02027", "01/01/20270", "01/01/+20270", "01/01/-2027",
+        "01/01/-02027", "01/01/+999999999", "01/01/+1000000000", "01/01/+0000000000000002027",
+        "01/01/+00000000000000002027", "1/01/2027", "01/1/2027", "01/01/27", "01/01/2027 ",
+        " 01/01/2027", "01-01-2027", "2027/01/01", "aa/01/2027", "01/01/20a7", "", "01/01/"
+    })
+    void testMatchesLocalDateParse(String text) {
+        assertEquals(referenceEpochDay(text), DateParser.parseEpochDay(text),
+            "Should match LocalDate.parse for: " + text);
+    }
+
+    /**
+     * Every day from 1900 to 2100 decodes to the same epoch day as LocalDate
+     */
+    @Test
+    void testEveryDayOfTwoCenturies() {
+        for (LocalDate date = LocalDate.of(1900, 1, 1); date.getYear() <= 2100; date = date.plusDays(1)) {
+            String text = date.format(FORMATTER);
+            assertEquals(date.toEpochDay(), DateParser.parseEpochDay(text), "Should decode " + text);
+        }
+    }
+
+    /**
+     * Day 29-31 in every month of a leap and a non-leap year resolves like the SMART resolver
+     */
+    @Test
+    void testEndOfMonthClamping() {
+        for (int year : new int[] {2027, 2028, 2100, 2400}) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 28; day <= 31; day++) {
+                    String text = String.format("%02d/%02d/%04d", day, month, year);
+                    assertEquals(referenceEpochDay(text), DateParser.parseEpochDay(text),
+                        "Should clamp like LocalDate.parse for: " + text);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
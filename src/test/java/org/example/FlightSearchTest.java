@@ -205,6 +205,9 @@ public class FlightSearchTest {
         String departure = "15/12/2025";
         String returnDate = "10/12/2025";
 
+        // Fix "today" before the departure date so condition 6 cannot interfere
+        flightSearch = new FlightSearch(new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2025, 12, 1))));
+
         // Test Data 8.1: Return date before departure
         assertFalse(flightSearch.runFlightSearch(
             departure, "syd", false, returnDate, "mel", "economy",
@@ -419,4 +422,109 @@ public class FlightSearchTest {
         assertEquals(0, flightSearch.getChildPassengerCount());
         assertEquals(0, flightSearch.getInfantPassengerCount());
     }
+
+    /**
+     * A clamped date reads back as given from the String overload and as the resolved day from the views
+     */
+    @Test
+    void testViewOverloadsReturnClampedDatesAsResolved() {
+        FlightSearchValidator validator = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+        FlightSearch strings = new FlightSearch(validator);
+        FlightSearch views = new FlightSearch(validator);
+
+        assertTrue(strings.runFlightSearch("31/02/2030", "syd", false, "31/03/2030", "mel", "economy", 1, 0, 0));
+        assertTrue(views.runFlightSearch(new StringBuilder("31/02/2030"), "syd", false, "31/03/2030", "mel", "economy", 1, 0, 0));
+        assertEquals("31/02/2030", strings.getDepartureDate());
+        assertEquals("28/02/2030", views.getDepartureDate());
+        assertEquals("31/03/2030", views.getReturnDate());
+        assertEquals(strings.getCriteria().departureEpochDay(), views.getCriteria().departureEpochDay());
+
+        byte[] bytes = "31/02/2030syd31/03/2030meleconomy".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+        assertTrue(views.runFlightSearch(bytes, 0, 10, 10, 3, false, 13, 10, 23, 3, 26, 7, 1, 0, 0));
+        assertEquals("28/02/2030", views.getDepartureDate());
+    }
+
+    /**
+     * The CharSequence and byte[] overloads accept and reject exactly what the String overload does,
+     * and their getters return the canonical form of the accepted fields
+     */
+    @Test
+    void testCharSequenceAndByteOverloadsMatchStrings() {
+        FlightSearchValidator validator = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+        FlightSearch strings = new FlightSearch(validator);
+        FlightSearch views = new FlightSearch(validator);
+        RandomSearches searches = new RandomSearches(22, new String[] {"syd", "MEL", "lax", "xxx", ""},
+            new String[] {"economy", "Premium Economy", "business", "first", "invalid", ""});
+
+        for (int i = 0; i < 20_000; i++) {
+            RandomSearches.Search search = searches.next();
+            String departureDate = search.departureDate();
+            String returnDate = search.returnDate();
+            String departureAirport = search.departureAirportCode();
+            String destinationAirport = search.destinationAirportCode();
+            String seatingClass = search.seatingClass();
+            boolean emergencyRow = search.emergencyRowSeating();
+            int adults = search.adultPassengerCount();
+            int children = search.childPassengerCount();
+            int infants = search.infantPassengerCount();
+
+            boolean expected = strings.runFlightSearch(departureDate, departureAirport, emergencyRow,
+                returnDate, destinationAirport, seatingClass, adults, children, infants);
+            assertEquals(expected, views.runFlightSearch(new StringBuilder(departureDate), new StringBuilder(departureAirport),
+                emergencyRow, new StringBuilder(returnDate), new StringBuilder(destinationAirport), new StringBuilder(seatingClass),
+                adults, children, infants), "CharSequence overload disagrees on search " + i);
+
+            byte[] bytes = (departureDate + departureAirport + returnDate + destinationAirport + seatingClass)
+                .getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+            int returnOffset = departureDate.length() + departureAirport.length();
+            int destinationOffset = returnOffset + returnDate.length();
+            int classOffset = destinationOffset + destinationAirport.length();
+            assertEquals(expected, views.runFlightSearch(bytes,
+                0, departureDate.length(),
+                departureDate.length(), departureAirport.length(), emergencyRow,
+                returnOffset, returnDate.length(),
+                destinationOffset, destinationAirport.length(),
+                classOffset, seatingClass.length(),
+                adults, children, infants), "byte[] overload disagrees on search " + i);
+
+            if (expected) {
+                assertEquals(strings.getCriteria().departureEpochDay(), DateParser.parseEpochDay(views.getDepartureDate()));
+                assertEquals(departureAirport.toLowerCase(), views.getDepartureAirportCode());
+                assertEquals(destinationAirport.toLowerCase(), views.getDestinationAirportCode());
+                assertEquals(seatingClass.toLowerCase(), views.getSeatingClass());
+                assertEquals(strings.getCriteria().departureEpochDay(), views.getCriteria().departureEpochDay());
+                assertEquals(strings.getCriteria().returnEpochDay(), views.getCriteria().returnEpochDay());
+                assertEquals(adults, views.getAdultPassengerCount());
+            }
+        }
+    }
+
+    /**
+     * Accepting a search through the CharSequence or byte[] overload allocates nothing
+     */
+    @Test
+    void testViewOverloadsDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        FlightSearch search = new FlightSearch(new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1))));
+        StringBuilder departureDate = new StringBuilder("10/01/2030");
+        StringBuilder returnDate = new StringBuilder("20/01/2030");
+        StringBuilder departureAirport = new StringBuilder("SYD");
+        StringBuilder destinationAirport = new StringBuilder("mel");
+        StringBuilder seatingClass = new StringBuilder("economy");
+        byte[] request = "10/01/2030syd20/01/2030MELpremium economy".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+
+        long allocated = 0;
+        for (int round = 0; round < 20; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 1_000; i++) {
+                assertTrue(search.runFlightSearch(departureDate, departureAirport, false, returnDate, destinationAirport,
+                    seatingClass, 1 + i % 9, 0, 0));
+                assertTrue(search.runFlightSearch(request, 0, 10, 10, 3, false, 13, 10, 23, 3, 26, 15, 1 + i % 9, 0, 0));
+            }
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertEquals(0, allocated, "Should not allocate on the success path");
+        assertEquals("premium economy", search.getSeatingClass());
+    }
 }
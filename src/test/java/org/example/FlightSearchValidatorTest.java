@@ -0,0 +1,370 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * JUnit 5 test class for the stateless FlightSearchValidator API
+ */
+public class FlightSearchValidatorTest {
+
+    private FlightSearchValidator validator;
+    private String validFutureDate;
+    private String validReturnDate;
+
+    @BeforeEach
+    void setUp() {
+        validator = new FlightSearchValidator();
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        validFutureDate = LocalDate.now().plusDays(30).format(formatter);
+        validReturnDate = LocalDate.now().plusDays(45).format(formatter);
+    }
+
+    /**
+     * Accepted searches return an immutable record holding every parameter and the decoded dates
+     */
+    @Test
+    void testValidSearchReturnsCriteria() {
+        SearchCriteria criteria = validator.validate(
+            validFutureDate, "syd", false, validReturnDate, "mel", "economy",
+            2, 1, 1);
+
+        assertNotNull(criteria, "Should accept valid search");
+        assertEquals(validFutureDate, criteria.departureDate());
+        assertEquals("syd", criteria.departureAirportCode());
+        assertFalse(criteria.emergencyRowSeating());
+        assertEquals(validReturnDate, criteria.returnDate());
+        assertEquals("mel", criteria.destinationAirportCode());
+        assertEquals("economy", criteria.seatingClass());
+        assertEquals(2, criteria.adultPassengerCount());
+        assertEquals(1, criteria.childPassengerCount());
+        assertEquals(1, criteria.infantPassengerCount());
+        assertEquals(LocalDate.now().plusDays(30).toEpochDay(), criteria.departureEpochDay());
+        assertEquals(LocalDate.now().plusDays(45).toEpochDay(), criteria.returnEpochDay());
+    }
+
+    /**
+     * Rejected searches return null and leave nothing behind
+     */
+    @Test
+    void testInvalidSearchReturnsNull() {
+        assertNull(validator.validate(
+            validFutureDate, "syd", false, validReturnDate, "syd", "economy",
+            1, 0, 0), "Should reject same departure and destination airport");
+        assertNull(validator.validate(
+            "01/01/2020", "syd", false, validReturnDate, "mel", "economy",
+            1, 0, 0), "Should reject past departure date");
+    }
+
+    /**
+     * One validator shared by many threads gives every thread its own correct result
+     */
+    @Test
+    void testSharedInstanceAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                int adults = 1 + (i % 10);
+                results.add(executor.submit(() -> validator.validate(
+                    validFutureDate, "syd", false, validReturnDate, "mel", "economy",
+                    adults, 0, 0) != null));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(1 + (i % 10) <= 9, results.get(i).get(), "Unexpected result for search " + i);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The columnar batch path agrees with the single-search path row by row
+     */
+    @Test
+    void testBatchMatchesSingleValidation() {
+        FlightSearchValidator fixedDay = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+        RandomSearches searches = new RandomSearches(42);
+        int rows = 1_000;
+        SearchBatch batch = new SearchBatch(rows);
+        boolean[] expected = new boolean[rows];
+
+        for (int i = 0; i < rows; i++) {
+            RandomSearches.Search search = searches.next();
+            expected[i] = search.validate(fixedDay) != null;
+            assertEquals(expected[i], search.check(fixedDay) == 0,
+                "Failure mask should be empty exactly when the search is accepted");
+            batch.add(DateParser.parseEpochDay(search.departureDate()), Airports.defaults().id(search.departureAirportCode()),
+                search.emergencyRowSeating(), DateParser.parseEpochDay(search.returnDate()),
+                Airports.defaults().id(search.destinationAirportCode()), SeatingClass.id(search.seatingClass()),
+                search.adultPassengerCount(), search.childPassengerCount(), search.infantPassengerCount());
+        }
+
+        long[] results = fixedDay.validateBatch(batch);
+        for (int i = 0; i < rows; i++) {
+            assertEquals(expected[i], SearchBatch.isValid(results, i), "Batch disagrees on row " + i);
+        }
+    }
+
+    /**
+     * Parallel bulk validation over a batch spanning many fork/join tasks matches the sequential pass
+     */
+    @Test
+    void testParallelBatchMatchesSequentialBatch() {
+        long today = LocalDate.now().toEpochDay();
+        Random random = new Random(7);
+        int rows = 200_003;
+        SearchBatch batch = new SearchBatch(rows);
+        for (int i = 0; i < rows; i++) {
+            long departureDay = today - 5 + random.nextInt(30);
+            batch.add(departureDay, random.nextInt(Airports.defaults().count() + 1) - 1, random.nextInt(8) == 0,
+                departureDay - 3 + random.nextInt(20), random.nextInt(Airports.defaults().count()), random.nextInt(SeatingClass.count()),
+                random.nextInt(6), random.nextInt(4), random.nextInt(3));
+        }
+
+        long[] sequential = validator.validateBatch(batch);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(sequential, validator.validateBatchParallel(batch, pool),
+                "Parallel results should match sequential results in row order");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A batch that records its airport snapshot is validated against it, not the registry's current one
+     */
+    @Test
+    void testBatchUsesItsOwnAirportSnapshot() {
+        Airports resolvedAgainst = Airports.of("syd", "mel", "akl");
+        FlightSearchValidator reloaded = new FlightSearchValidator(new AirportRegistry(Airports.of("syd", "mel")),
+            SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+        long day = LocalDate.of(2030, 1, 10).toEpochDay();
+        SearchBatch batch = new SearchBatch(1);
+        batch.add(day, resolvedAgainst.id("syd"), false, day, resolvedAgainst.id("akl"), 0, 1, 0, 0);
+
+        assertFalse(SearchBatch.isValid(reloaded.validateBatch(batch), 0), "Id 2 is unknown in the current snapshot");
+        batch.setAirports(resolvedAgainst);
+        assertTrue(SearchBatch.isValid(reloaded.validateBatch(batch), 0));
+        assertTrue(SearchBatch.isValid(reloaded.validateBatchParallel(batch), 0));
+    }
+
+    /**
+     * Airport codes and seating classes resolve to the same ids in any letter case
+     */
+    @Test
+    void testDictionaryLookupsIgnoreCase() {
+        assertEquals(Airports.defaults().id("syd"), Airports.defaults().id("SYD"));
+        assertEquals(Airports.defaults().id("cdg"), Airports.defaults().id("cDg"));
+        assertEquals(Airports.UNKNOWN, Airports.defaults().id("sy"));
+        assertEquals(Airports.UNKNOWN, Airports.defaults().id("sy1"));
+        assertEquals(Airports.UNKNOWN, Airports.defaults().id("xxx"));
+        assertEquals(SeatingClass.PREMIUM_ECONOMY.ordinal(), SeatingClass.id("Premium Economy"));
+        assertEquals(SeatingClass.FIRST.ordinal(), SeatingClass.id("FIRST"));
+        assertEquals(SeatingClass.UNKNOWN, SeatingClass.id("premium"));
+        assertEquals(SeatingClass.UNKNOWN, SeatingClass.id(null));
+
+        assertNotNull(validator.validate(
+            validFutureDate, "SYD", true, validReturnDate, "Mel", "Economy",
+            1, 0, 0), "Should accept mixed-case airports and seating class");
+        assertNull(validator.validate(
+            validFutureDate, "SYD", false, validReturnDate, "syd", "economy",
+            1, 0, 0), "Should reject the same airport written in different case");
+    }
+
+    /**
+     * Conditions 2 and 3 apply to the seating class whatever its letter case, like conditions 9 and 10
+     */
+    @Test
+    void testChildAndInfantClassRulesIgnoreCase() {
+        assertNull(validator.validate(
+            validFutureDate, "syd", false, validReturnDate, "mel", "First",
+            2, 1, 0), "Should reject children in First class");
+        assertNull(validator.validate(
+            validFutureDate, "syd", false, validReturnDate, "mel", "BUSINESS",
+            2, 0, 1), "Should reject infants in BUSINESS class");
+    }
+
+    /**
+     * check() reports every failed condition in one pass and nothing for a valid search
+     */
+    @Test
+    void testCheckReportsAllFailures() {
+        assertEquals(0, validator.check(
+            validFutureDate, "syd", false, validReturnDate, "mel", "economy",
+            2, 1, 1), "Valid search should have no failures");
+
+        int failures = validator.check(
+            "01/01/2020", "syd", true, validReturnDate, "syd", "business",
+            1, 3, 0);
+        assertEquals(Set.of(SearchCondition.CHILD_SEATING, SearchCondition.CHILD_ADULT_RATIO,
+                SearchCondition.DEPARTURE_DATE, SearchCondition.EMERGENCY_ROW_CLASS, SearchCondition.AIRPORTS),
+            SearchCondition.fromMask(failures));
+
+        failures = validator.check(
+            "31/31/2030", "syd", false, validReturnDate, "mel", "economy",
+            1, 0, 0);
+        assertEquals(SearchCondition.DATE_FORMAT.bit(), failures,
+            "Unparseable date should only report the format condition");
+        assertEquals(7, SearchCondition.DATE_FORMAT.number());
+    }
+
+    /**
+     * The compiled passenger/class/emergency-row table agrees with the individual conditions across
+     * the whole domain and just outside it
+     */
+    @Test
+    void testCompiledPartyRulesMatchConditions() {
+        String[] classes = {"economy", "premium economy", "business", "first", "invalid"};
+        for (int adults = -1; adults <= 10; adults++) {
+            for (int children = -1; children <= 10; children++) {
+                for (int infants = -1; infants <= 10; infants++) {
+                    for (String seatingClass : classes) {
+                        for (boolean emergencyRow : new boolean[] {false, true}) {
+                            boolean accepted = validator.validate(validFutureDate, "syd", emergencyRow,
+                                validReturnDate, "mel", seatingClass, adults, children, infants) != null;
+                            int failures = validator.check(validFutureDate, "syd", emergencyRow,
+                                validReturnDate, "mel", seatingClass, adults, children, infants);
+                            assertEquals(failures == 0, accepted, "Table disagrees for " + adults + "/" + children
+                                + "/" + infants + " " + seatingClass + " emergency=" + emergencyRow);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Negative passenger counts cannot offset other passengers to satisfy condition 1
+     */
+    @Test
+    void testNegativePassengerCountsRejected() {
+        assertNull(validator.validate(
+            validFutureDate, "syd", false, validReturnDate, "mel", "economy",
+            5, -1, 0), "Should reject a negative child count");
+        assertTrue(SearchCondition.PASSENGER_COUNT.isIn(validator.check(
+            validFutureDate, "syd", false, validReturnDate, "mel", "economy",
+            10, 0, -1)), "Should report negative infant count under condition 1");
+    }
+
+    /**
+     * Flexible date windows give exactly the pairs that validate one by one, including windows
+     * clipped by today and pairs whose return would precede the departure
+     */
+    @Test
+    void testDateWindowsMatchPairwiseValidation() {
+        FlightSearchValidator fixedDay = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 10)));
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        LocalDate[][] centres = {
+            {LocalDate.of(2030, 1, 20), LocalDate.of(2030, 1, 25)},
+            {LocalDate.of(2030, 1, 11), LocalDate.of(2030, 1, 12)},
+            {LocalDate.of(2030, 2, 27), LocalDate.of(2030, 3, 1)},
+            {LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 5)},
+            {LocalDate.of(2030, 1, 20), LocalDate.of(2030, 1, 10)}
+        };
+
+        for (LocalDate[] centre : centres) {
+            for (int flex = 0; flex <= 3; flex++) {
+                DatePairs pairs = fixedDay.validateDateWindows(centre[0].format(format), "syd", false,
+                    centre[1].format(format), "mel", "economy", 2, 1, 0, flex, flex);
+
+                int expected = 0;
+                for (int d = -flex; d <= flex; d++) {
+                    for (int r = -flex; r <= flex; r++) {
+                        LocalDate departure = centre[0].plusDays(d);
+                        LocalDate ret = centre[1].plusDays(r);
+                        boolean valid = fixedDay.validate(departure.format(format), "syd", false,
+                            ret.format(format), "mel", "economy", 2, 1, 0) != null;
+                        assertEquals(valid, pairs.contains(departure.toEpochDay(), ret.toEpochDay()),
+                            "Window around " + centre[0] + "/" + centre[1] + " disagrees on " + departure + "/" + ret);
+                        expected += valid ? 1 : 0;
+                    }
+                }
+                assertEquals(expected, pairs.size());
+            }
+        }
+    }
+
+    /**
+     * A failing date-independent condition or malformed centre date gives no pairs
+     */
+    @Test
+    void testDateWindowsRejectWholeSearch() {
+        assertTrue(validator.validateDateWindows(validFutureDate, "syd", false, validReturnDate, "syd",
+            "economy", 2, 0, 0, 3, 3).isEmpty(), "Same airports");
+        assertTrue(validator.validateDateWindows(validFutureDate, "syd", false, validReturnDate, "mel",
+            "economy", 10, 0, 0, 3, 3).isEmpty(), "Too many passengers");
+        assertTrue(validator.validateDateWindows("31/13/2030", "syd", false, validReturnDate, "mel",
+            "economy", 2, 0, 0, 3, 3).isEmpty(), "Malformed departure date");
+        assertEquals(49, validator.validateDateWindows(validFutureDate, "syd", false, validReturnDate, "mel",
+            "economy", 2, 0, 0, 3, 3).size());
+        assertThrows(IllegalArgumentException.class, () -> validator.validateDateWindows(validFutureDate, "syd",
+            false, validReturnDate, "mel", "economy", 2, 0, 0, -1, 3));
+    }
+
+    /**
+     * A two-leg itinerary out and back reports exactly what check reports for the round trip
+     */
+    @Test
+    void testRoundTripItineraryMatchesCheck() {
+        FlightSearchValidator fixedDay = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+        RandomSearches searches = new RandomSearches(19);
+        Itinerary itinerary = new Itinerary();
+
+        for (int i = 0; i < 20_000; i++) {
+            RandomSearches.Search search = searches.next();
+            itinerary.clear();
+            itinerary.party(search.seatingClass(), search.emergencyRowSeating(),
+                            search.adultPassengerCount(), search.childPassengerCount(), search.infantPassengerCount())
+                     .addLeg(search.departureDate(), search.departureAirportCode(), search.destinationAirportCode())
+                     .addLeg(search.returnDate(), search.destinationAirportCode(), search.departureAirportCode());
+            int expected = search.check(fixedDay);
+
+            assertEquals(expected, fixedDay.checkItinerary(itinerary), "Itinerary disagrees on search " + i);
+            assertEquals(expected == 0, fixedDay.validateItinerary(itinerary), "Short-circuit disagrees on search " + i);
+        }
+    }
+
+    /**
+     * Every leg needs valid, different airports and legs cannot go back in time
+     */
+    @Test
+    void testMultiCityLegRules() {
+        FlightSearchValidator fixedDay = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+        Itinerary itinerary = new Itinerary().party("economy", false, 2, 1, 1);
+        String[] stops = {"syd", "mel", "lax", "syd", "mel", "lax", "syd"};
+        for (int leg = 0; leg < Itinerary.MAX_LEGS; leg++) {
+            itinerary.addLeg(String.format("%02d/01/2030", 5 + leg - leg % 2), stops[leg], stops[leg + 1]);
+        }
+        assertEquals(0, fixedDay.checkItinerary(itinerary), "Legs on the same day are allowed");
+        assertTrue(fixedDay.validateItinerary(itinerary));
+        assertThrows(IllegalStateException.class, () -> itinerary.addLeg("20/01/2030", "syd", "mel"));
+
+        itinerary.clear();
+        itinerary.party("economy", false, 1, 0, 0)
+                 .addLeg("10/01/2030", "syd", "mel")
+                 .addLeg("09/01/2030", "mel", "lax")
+                 .addLeg("2030/01/20", "lax", "lax");
+        int failures = fixedDay.checkItinerary(itinerary);
+        assertEquals(SearchCondition.RETURN_DATE.bit() | SearchCondition.DATE_FORMAT.bit() | SearchCondition.AIRPORTS.bit(),
+            failures, "Should report the out-of-order leg, the malformed date and the repeated airport");
+        assertFalse(fixedDay.validateItinerary(itinerary));
+
+        itinerary.clear();
+        assertThrows(IllegalArgumentException.class, () -> fixedDay.checkItinerary(itinerary));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+
+/**
+ * JUnit 5 test class for expanding accepted searches into pricing units
+ */
+public class PricingUnitGeneratorTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    /**
+     * Each passenger type present gets one unit per leg, with the legs' airports and dates swapped for the return
+     */
+    @Test
+    void testExpandsPassengerTypesAndLegs() {
+        PricingUnitGenerator generator = new PricingUnitGenerator(VALIDATOR);
+        PricingUnits units = new PricingUnits(16);
+        SearchCriteria accepted = VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 0, 1);
+        Airports airports = VALIDATOR.airports().current();
+
+        assertEquals(4, generator.generate(accepted, units));
+        assertEquals(4, units.size());
+        assertSame(airports, units.airports());
+
+        assertEquals(PricingUnits.OUTBOUND, units.leg(0));
+        assertEquals(PassengerType.ADULT.ordinal(), units.passengerType(0));
+        assertEquals(2, units.passengerCount(0));
+        assertEquals(airports.id("syd"), units.originAirport(0));
+        assertEquals(airports.id("mel"), units.destinationAirport(0));
+        assertEquals(LocalDate.of(2030, 1, 10).toEpochDay(), units.day(0));
+        assertEquals(PassengerType.INFANT, PassengerType.fromId(units.passengerType(1)));
+        assertEquals(1, units.passengerCount(1));
+
+        assertEquals(PricingUnits.RETURN, units.leg(3));
+        assertEquals(airports.id("mel"), units.originAirport(3));
+        assertEquals(airports.id("syd"), units.destinationAirport(3));
+        assertEquals(LocalDate.of(2030, 1, 20).toEpochDay(), units.day(3));
+        assertEquals(SeatingClass.ECONOMY.ordinal(), units.seatingClass(3));
+        assertEquals(0, units.search(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> units.leg(4));
+    }
+
+    /**
+     * A search whose units do not fit leaves the buffer unchanged; clear() makes it reusable
+     */
+    @Test
+    void testFullBufferIsLeftUnchanged() {
+        PricingUnitGenerator generator = new PricingUnitGenerator(VALIDATOR);
+        PricingUnits units = new PricingUnits(PricingUnits.MAX_UNITS_PER_SEARCH);
+        SearchCriteria family = VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 2, 1);
+        SearchCriteria single = VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "business", 1, 0, 0);
+
+        assertEquals(PricingUnits.MAX_UNITS_PER_SEARCH, generator.generate(family, units));
+        assertThrows(IllegalStateException.class, () -> generator.generate(single, units));
+        assertEquals(PricingUnits.MAX_UNITS_PER_SEARCH, units.size());
+        assertEquals(1, units.searchCount());
+
+        units.clear();
+        assertEquals(2, generator.generate(single, units));
+        assertEquals(0, units.search(1));
+        assertEquals(SeatingClass.BUSINESS.ordinal(), units.seatingClass(1));
+        assertThrows(IllegalStateException.class, () -> generator.generate(new FlightSearch(VALIDATOR), units),
+            "A FlightSearch with nothing accepted has no units");
+    }
+
+    /**
+     * A search naming an airport missing from the buffer's table is refused rather than written as unknown ids
+     */
+    @Test
+    void testAirportMissingFromBufferTableIsRefused() {
+        PricingUnitGenerator older = new PricingUnitGenerator(new AirportRegistry(Airports.of("syd", "mel")));
+        PricingUnitGenerator newer = new PricingUnitGenerator(VALIDATOR);
+        PricingUnits units = new PricingUnits(16);
+        SearchCriteria known = VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0);
+        SearchCriteria missing = VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "lax", "economy", 1, 0, 0);
+
+        assertEquals(2, older.generate(known, units));
+        assertThrows(IllegalStateException.class, () -> newer.generate(missing, units));
+        assertEquals(2, units.size());
+        assertEquals(1, units.searchCount());
+
+        units.clear();
+        assertEquals(2, newer.generate(missing, units));
+        assertEquals(units.airports().id("lax"), units.destinationAirport(0));
+    }
+
+    /**
+     * Expanding searches into a warmed-up buffer allocates nothing
+     */
+    @Test
+    void testGenerationDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        PricingUnitGenerator generator = new PricingUnitGenerator(VALIDATOR);
+        PricingUnits units = new PricingUnits(PricingUnits.MAX_UNITS_PER_SEARCH * 1_000);
+        FlightSearch search = new FlightSearch(VALIDATOR);
+        assertTrue(search.runFlightSearch("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 2, 1));
+
+        long unitsGenerated = 0;
+        long allocated = 0;
+        for (int round = 0; round < 20; round++) {
+            units.clear();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 1_000; i++) {
+                unitsGenerated += generator.generate(search, units);
+            }
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertEquals(PricingUnits.MAX_UNITS_PER_SEARCH * 20_000L, unitsGenerated);
+        assertEquals(0, allocated, "Should not allocate per search or unit");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded source of random flight searches for tests comparing a component with FlightSearchValidator
+ * The default pools mix valid values with unknown codes, nulls, a past, a clamped and a malformed
+ * date, and passenger counts just outside the allowed range, so every condition is both met and broken.
+ */
+final class RandomSearches {
+
+    static final String[] AIRPORTS = {"syd", "mel", "lax", "xxx", null};
+    static final String[] CLASSES = {"economy", "premium economy", "business", "first", "invalid", null};
+    static final String[] DATES = {"01/12/2029", "01/01/2030", "15/01/2030", "31/02/2030", "2030/01/01"};
+
+    /**
+     * One search's arguments, in the order of FlightSearchValidator.validate
+     */
+    record Search(String departureDate, String departureAirportCode, boolean emergencyRowSeating,
+                  String returnDate, String destinationAirportCode, String seatingClass,
+                  int adultPassengerCount, int childPassengerCount, int infantPassengerCount) {
+
+        SearchCriteria validate(FlightSearchValidator validator) {
+            return validator.validate(departureDate, departureAirportCode, emergencyRowSeating, returnDate,
+                destinationAirportCode, seatingClass, adultPassengerCount, childPassengerCount, infantPassengerCount);
+        }
+
+        int check(FlightSearchValidator validator) {
+            return validator.check(departureDate, departureAirportCode, emergencyRowSeating, returnDate,
+                destinationAirportCode, seatingClass, adultPassengerCount, childPassengerCount, infantPassengerCount);
+        }
+    }
+
+    private final Random random;
+    private final String[] airports;
+    private final String[] classes;
+
+    RandomSearches(long seed) {
+        this(seed, AIRPORTS, CLASSES);
+    }
+
+    /**
+     * Draws airport codes and seating classes from the given pools instead of the defaults
+     */
+    RandomSearches(long seed, String[] airports, String[] classes) {
+        this.random = new Random(seed);
+        this.airports = airports;
+        this.classes = classes;
+    }
+
+    Search next() {
+        return new Search(date(), airport(), emergencyRow(), date(), airport(), seatingClass(), adults(), children(), infants());
+    }
+
+    /**
+     * @return the criteria of the first searches the validator accepts, in the order they were drawn
+     */
+    List<SearchCriteria> accepted(FlightSearchValidator validator, int count) {
+        List<SearchCriteria> accepted = new ArrayList<>(count);
+        while (accepted.size() < count) {
+            SearchCriteria criteria = next().validate(validator);
+            if (criteria != null) {
+                accepted.add(criteria);
+            }
+        }
+        return accepted;
+    }
+
+    String date() {
+        return DATES[random.nextInt(DATES.length)];
+    }
+
+    String airport() {
+        return airports[random.nextInt(airports.length)];
+    }
+
+    String seatingClass() {
+        return classes[random.nextInt(classes.length)];
+    }
+
+    boolean emergencyRow() {
+        return random.nextInt(4) == 0;
+    }
+
+    /**
+     * @return -1 to 10 adults
+     */
+    int adults() {
+        return random.nextInt(12) - 1;
+    }
+
+    int children() {
+        return random.nextInt(4);
+    }
+
+    int infants() {
+        return random.nextInt(3);
+    }
+}
\ No newline at end of file
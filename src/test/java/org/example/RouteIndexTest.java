@@ -0,0 +1,167 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit 5 test class for the route graph index
+ */
+public class RouteIndexTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Routes are directed and the stop levels widen one flight at a time
+     */
+    @Test
+    void testDirectRoutesAndStops() {
+        Airports airports = Airports.defaults();
+        RouteIndex routes = RouteIndex.of(airports, 2, "syd,mel", "mel,lax", "lax,cdg", "syd,mel");
+        int syd = airports.id("syd");
+        int mel = airports.id("mel");
+        int lax = airports.id("lax");
+        int cdg = airports.id("cdg");
+
+        assertEquals(3, routes.routes(), "Duplicate routes count once");
+        assertTrue(routes.hasRoute(syd, mel));
+        assertFalse(routes.hasRoute(mel, syd), "Routes are directed");
+        assertFalse(routes.isReachable(syd, lax, 0));
+        assertTrue(routes.isReachable(syd, lax, 1));
+        assertTrue(routes.isReachable(syd, cdg, 2));
+        assertEquals(2, routes.minStops(syd, cdg));
+        assertEquals(-1, routes.minStops(cdg, syd));
+        assertFalse(routes.hasRoute(Airports.UNKNOWN, mel));
+        assertThrows(IllegalArgumentException.class, () -> routes.isReachable(syd, cdg, 3));
+        assertThrows(IllegalArgumentException.class, () -> RouteIndex.of(airports, 1, "syd,akl"));
+    }
+
+    /**
+     * Precomputed reachability agrees with a breadth-first search on random graphs of a few hundred airports
+     */
+    @Test
+    void testClosuresMatchBreadthFirstSearch() {
+        Random random = new Random(20);
+        List<String> codes = new ArrayList<>();
+        for (int packed = 0; codes.size() < 300; packed += 1 + random.nextInt(50)) {
+            codes.add(Airports.unpack(packed));
+        }
+        Airports airports = Airports.of(codes.toArray(new String[0]));
+        int count = airports.count();
+        List<String> routeList = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            routeList.add(codes.get(random.nextInt(count)) + "," + codes.get(random.nextInt(count)));
+        }
+        RouteIndex routes = RouteIndex.of(airports, 3, routeList.toArray(new String[0]));
+
+        for (int origin = 0; origin < count; origin++) {
+            int[] flights = flightsFrom(origin, count, routeList, airports);
+            for (int destination = 0; destination < count; destination++) {
+                int expected = flights[destination] > 0 && flights[destination] <= 4 ? flights[destination] - 1 : -1;
+                assertEquals(expected, routes.minStops(origin, destination),
+                    "Disagrees on " + airports.code(origin) + " to " + airports.code(destination));
+            }
+        }
+    }
+
+    /**
+     * Routes are read from the file, ignoring comments, blank lines and extra columns
+     */
+    @Test
+    void testLoadFromFile() throws IOException {
+        Path file = directory.resolve("routes.csv");
+        Files.writeString(file, "# origin,destination,carrier\nSYD,MEL,qf\n\nmel,syd\n");
+        RouteIndex routes = RouteIndex.load(file, Airports.defaults(), 0);
+
+        assertEquals(2, routes.routes());
+        assertTrue(routes.hasRoute(Airports.defaults().id("mel"), Airports.defaults().id("syd")));
+
+        Files.writeString(file, "syd,mel\nsyd\n");
+        IOException malformed = assertThrows(IOException.class, () -> RouteIndex.load(file, Airports.defaults(), 0));
+        assertTrue(malformed.getMessage().contains("line 2"), malformed.getMessage());
+    }
+
+    /**
+     * Condition 11 rejects pairs the index cannot connect, on every validation path
+     */
+    @Test
+    void testValidatorRejectsUnservedPairs() {
+        Airports airports = Airports.defaults();
+        FlightSearchValidator direct = VALIDATOR.withRouteIndex(RouteIndex.of(airports, 1, "syd,mel", "mel,lax"), 0);
+        FlightSearchValidator oneStop = direct.withRouteIndex(direct.routes(), 1);
+
+        assertNotNull(direct.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0));
+        assertNull(direct.validate("10/01/2030", "syd", false, "20/01/2030", "lax", "economy", 1, 0, 0));
+        assertEquals(SearchCondition.AIRPORTS.bit(),
+            direct.check("10/01/2030", "syd", false, "20/01/2030", "lax", "economy", 1, 0, 0));
+        assertNotNull(oneStop.validate("10/01/2030", "syd", false, "20/01/2030", "lax", "economy", 1, 0, 0));
+
+        SearchBatch batch = new SearchBatch(2);
+        long day = LocalDate.of(2030, 1, 10).toEpochDay();
+        batch.add(day, airports.id("syd"), false, day, airports.id("mel"), 0, 1, 0, 0);
+        batch.add(day, airports.id("syd"), false, day, airports.id("lax"), 0, 1, 0, 0);
+        assertEquals(0b01L, direct.validateBatch(batch)[0]);
+        assertEquals(0b11L, oneStop.validateBatch(batch)[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> VALIDATOR.withRouteIndex(direct.routes(), 2));
+    }
+
+    /**
+     * An index built for one dictionary still answers for ids of a reloaded one
+     */
+    @Test
+    void testTranslatesIdsOfAnotherSnapshot() {
+        RouteIndex routes = RouteIndex.of(Airports.of("syd", "mel"), 0, "syd,mel");
+        FlightSearchValidator validator = new FlightSearchValidator(new AirportRegistry(Airports.of("akl", "mel", "syd")),
+            SearchClock.fixed(LocalDate.of(2030, 1, 1))).withRouteIndex(routes, 0);
+
+        assertNotNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0));
+        assertNull(validator.validate("10/01/2030", "akl", false, "20/01/2030", "mel", "economy", 1, 0, 0),
+            "Airports missing from the index have no routes");
+    }
+
+    /**
+     * Fewest flights from the origin to every airport, 0 where unreachable or for the origin itself
+     * unless it lies on a cycle
+     */
+    private static int[] flightsFrom(int origin, int count, List<String> routeList, Airports airports) {
+        List<List<Integer>> adjacent = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            adjacent.add(new ArrayList<>());
+        }
+        for (String route : routeList) {
+            String[] ends = route.split(",");
+            adjacent.get(airports.id(ends[0])).add(airports.id(ends[1]));
+        }
+        int[] flights = new int[count];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int next : adjacent.get(origin)) {
+            if (flights[next] == 0) {
+                flights[next] = 1;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int via = queue.poll();
+            for (int next : adjacent.get(via)) {
+                if (flights[next] == 0) {
+                    flights[next] = flights[via] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        return flights;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * JUnit 5 test class for the incrementally re-validating search builder
+ */
+public class SearchBuilderTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test clock whose time is set by the test
+     */
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /**
+     * Changing one random field at a time always gives the same result as a full validation
+     */
+    @Test
+    void testMatchesFullValidationAfterEveryChange() {
+        Random random = new Random(24);
+        RandomSearches searches = new RandomSearches(24);
+        String firstDate = RandomSearches.DATES[0];
+        SearchBuilder builder = new SearchBuilder(VALIDATOR).departureDate(firstDate).returnDate(firstDate);
+
+        String departureDate = firstDate;
+        String returnDate = firstDate;
+        String departureAirport = null;
+        String destinationAirport = null;
+        String seatingClass = null;
+        boolean emergencyRow = false;
+        int adults = 0;
+        int children = 0;
+        int infants = 0;
+
+        for (int i = 0; i < 50_000; i++) {
+            switch (random.nextInt(9)) {
+                case 0 -> builder.departureDate(departureDate = searches.date());
+                case 1 -> builder.returnDate(returnDate = searches.date());
+                case 2 -> builder.departureAirportCode(departureAirport = searches.airport());
+                case 3 -> builder.destinationAirportCode(destinationAirport = searches.airport());
+                case 4 -> builder.seatingClass(seatingClass = searches.seatingClass());
+                case 5 -> builder.emergencyRowSeating(emergencyRow = searches.emergencyRow());
+                case 6 -> builder.adultPassengerCount(adults = searches.adults());
+                case 7 -> builder.childPassengerCount(children = searches.children());
+                default -> builder.infantPassengerCount(infants = searches.infants());
+            }
+            assertEquals(VALIDATOR.check(departureDate, departureAirport, emergencyRow,
+                returnDate, destinationAirport, seatingClass, adults, children, infants), builder.failures(),
+                "Builder disagrees after change " + i);
+            assertEquals(VALIDATOR.validate(departureDate, departureAirport, emergencyRow,
+                returnDate, destinationAirport, seatingClass, adults, children, infants), builder.criteria());
+        }
+    }
+
+    /**
+     * A new day re-checks condition 6 and a reloaded airport snapshot re-checks condition 11
+     * without any field changing
+     */
+    @Test
+    void testPicksUpNewDayAndAirportReload() throws IOException {
+        Path file = directory.resolve("airports.txt");
+        Files.writeString(file, "syd\nmel\n");
+        AirportRegistry registry = AirportRegistry.load(file);
+        ManualClock time = new ManualClock(Instant.parse("2030-01-09T12:00:00Z"));
+        SearchBuilder builder = new SearchBuilder(new FlightSearchValidator(registry, new SearchClock(time)))
+            .departureDate("10/01/2030").returnDate("20/01/2030")
+            .departureAirportCode("syd").destinationAirportCode("akl")
+            .seatingClass("economy").adultPassengerCount(1);
+
+        assertEquals(SearchCondition.AIRPORTS.bit(), builder.failures());
+
+        Files.writeString(file, "syd\nmel\nakl\n");
+        registry.reload();
+        assertTrue(builder.isValid(), "Should resolve the airports again after a reload");
+
+        time.now = Instant.parse("2030-01-11T12:00:00Z");
+        assertEquals(SearchCondition.DEPARTURE_DATE.bit(), builder.failures(), "Departure is now in the past");
+        assertNull(builder.criteria());
+        builder.departureDate("12/01/2030");
+        assertNotNull(builder.criteria());
+    }
+}
\ No newline at end of file
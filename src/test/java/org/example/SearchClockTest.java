@@ -0,0 +1,76 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * JUnit 5 test class for the cached SearchClock used by condition 6
+ */
+public class SearchClockTest {
+
+    /**
+     * Test clock whose time is set by the test
+     */
+    private static final class ManualClock extends Clock {
+        private final ZoneId zone;
+        private Instant now;
+
+        ManualClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new ManualClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /**
+     * The cached day rolls over exactly at midnight in the configured zone
+     */
+    @Test
+    void testRollsOverAtMidnightInZone() {
+        ZoneId sydney = ZoneId.of("Australia/Sydney");
+        LocalDateTime beforeMidnight = LocalDateTime.of(2030, 3, 14, 23, 59, 59);
+        ManualClock time = new ManualClock(beforeMidnight.atZone(sydney).toInstant(), sydney);
+        SearchClock clock = new SearchClock(time);
+
+        assertEquals(LocalDate.of(2030, 3, 14).toEpochDay(), clock.today());
+
+        time.now = time.now.plusSeconds(1);
+        assertEquals(LocalDate.of(2030, 3, 15).toEpochDay(), clock.today(), "Should roll over at Sydney midnight");
+
+        time.now = time.now.minusSeconds(2);
+        assertEquals(LocalDate.of(2030, 3, 14).toEpochDay(), clock.today(), "Should follow a clock moved backwards");
+    }
+
+    /**
+     * A fixed clock makes the departure-date rule deterministic
+     */
+    @Test
+    void testFixedClockDrivesDepartureRule() {
+        FlightSearchValidator validator = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 6, 1)));
+
+        assertNull(validator.validate("31/05/2030", "syd", false, "01/06/2030", "mel", "economy", 1, 0, 0),
+            "Should reject the day before the fixed date");
+        assertNotNull(validator.validate("01/06/2030", "syd", false, "01/06/2030", "mel", "economy", 1, 0, 0),
+            "Should accept the fixed date itself");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JUnit 5 test class for the micro-batching request coalescer
+ */
+public class SearchCoalescerTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    /**
+     * Searches submitted concurrently complete with the same result as single validation
+     */
+    @Test
+    void testSameResultAsSingleValidation() throws Exception {
+        try (SearchCoalescer coalescer = new SearchCoalescer(VALIDATOR, 256, Duration.ofMillis(2));
+             ExecutorService producers = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                RandomSearches searches = new RandomSearches(17 + p);
+                done.add(producers.submit(() -> {
+                    List<SearchCriteria> expected = new ArrayList<>();
+                    List<CompletableFuture<SearchCriteria>> actual = new ArrayList<>();
+                    for (int i = 0; i < 5_000; i++) {
+                        RandomSearches.Search search = searches.next();
+                        expected.add(search.validate(VALIDATOR));
+                        actual.add(coalescer.submit(search.departureDate(), search.departureAirportCode(),
+                            search.emergencyRowSeating(), search.returnDate(), search.destinationAirportCode(),
+                            search.seatingClass(), search.adultPassengerCount(), search.childPassengerCount(),
+                            search.infantPassengerCount()));
+                    }
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertEquals(expected.get(i), actual.get(i).join(), "Coalesced validation disagrees on search " + i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> producer : done) {
+                producer.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * A burst is validated in batches of at most the maximum size
+     */
+    @Test
+    void testBurstIsCoalesced() {
+        int searches = 10_000;
+        try (SearchCoalescer coalescer = new SearchCoalescer(VALIDATOR, 512, Duration.ofMillis(50))) {
+            List<CompletableFuture<SearchCriteria>> results = new ArrayList<>(searches);
+            for (int i = 0; i < searches; i++) {
+                results.add(coalescer.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1 + i % 9, 0, 0));
+            }
+            for (CompletableFuture<SearchCriteria> result : results) {
+                assertNotNull(result.join());
+            }
+            assertTrue(coalescer.batches() >= searches / 512, "Batches cannot exceed the maximum size");
+            assertTrue(coalescer.batches() < searches / 10, "Should coalesce, got " + coalescer.batches() + " batches");
+        }
+    }
+
+    /**
+     * A lone search is validated once the maximum latency has passed
+     */
+    @Test
+    void testLoneSearchWaitsAtMostMaxLatency() throws Exception {
+        try (SearchCoalescer coalescer = new SearchCoalescer(VALIDATOR, 1024, Duration.ofMillis(20))) {
+            CompletableFuture<SearchCriteria> result =
+                coalescer.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0);
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, coalescer.batches());
+        }
+    }
+
+    /**
+     * Closing validates what is queued and refuses new searches
+     */
+    @Test
+    void testClose() {
+        SearchCoalescer coalescer = new SearchCoalescer(VALIDATOR, 64, Duration.ofSeconds(10));
+        CompletableFuture<SearchCriteria> queued =
+            coalescer.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0);
+        coalescer.close();
+
+        assertTrue(queued.isDone(), "Queued searches are validated on close");
+        assertNotNull(queued.join());
+        assertTrue(coalescer.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0)
+            .isCompletedExceptionally());
+    }
+
+    /**
+     * Searches submitted while another thread closes the coalescer are all either validated or refused
+     */
+    @Test
+    void testSubmitRacingCloseNeverHangs() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            SearchCoalescer coalescer = new SearchCoalescer(VALIDATOR, 16, Duration.ofMillis(1));
+            List<CompletableFuture<SearchCriteria>> results = new ArrayList<>();
+            Thread producer = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    results.add(coalescer.submit("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0));
+                }
+            });
+            coalescer.close();
+            producer.join();
+            for (CompletableFuture<SearchCriteria> result : results) {
+                try {
+                    assertNotNull(result.get(5, TimeUnit.SECONDS));
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertInstanceOf(java.util.concurrent.RejectedExecutionException.class, e.getCause());
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit 5 test class for streaming validation of search logs
+ */
+public class SearchLogValidatorTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    @TempDir
+    Path dir;
+
+    private SearchLogSummary run(SearchLogValidator logValidator, String log, SearchLogValidator.Format format) throws IOException {
+        Path input = dir.resolve("searches.log");
+        Files.writeString(input, log);
+        return logValidator.validate(input, format, dir.resolve("accepted"), dir.resolve("rejected"), dir.resolve("counts"));
+    }
+
+    private List<String> lines(String name) throws IOException {
+        return Files.readAllLines(dir.resolve(name));
+    }
+
+    /**
+     * CSV records are split by outcome and the header is kept on both outputs
+     */
+    @Test
+    void testCsvSplitsRecords() throws IOException {
+        String log = "departureDate,departureAirportCode,emergencyRowSeating,returnDate,destinationAirportCode,seatingClass,adults,children,infants\n"
+            + "10/01/2030,syd,false,20/01/2030,mel,economy,2,1,0\r\n"
+            + "10/01/2030,syd,false,20/01/2030,syd,economy,2,1,0\n"
+            + "\n"
+            + "01/12/2029, mel ,true,20/01/2030,lax,\"first\",10,0,0\n"
+            + "10/01/2030,syd,maybe,20/01/2030,mel,economy,2,1,0\n"
+            + "10/01/2030,syd,false,20/01/2030,mel,economy,2,1";
+        SearchLogSummary summary = run(new SearchLogValidator(VALIDATOR), log, SearchLogValidator.Format.CSV);
+
+        assertEquals(5, summary.records());
+        assertEquals(1, summary.accepted());
+        assertEquals(2, summary.rejected());
+        assertEquals(2, summary.malformed());
+        assertEquals(1, summary.rejections(SearchCondition.AIRPORTS));
+        assertEquals(1, summary.rejections(SearchCondition.PASSENGER_COUNT));
+        assertEquals(1, summary.rejections(SearchCondition.DEPARTURE_DATE));
+        assertEquals(1, summary.rejections(SearchCondition.EMERGENCY_ROW_CLASS));
+        assertEquals(0, summary.rejections(SearchCondition.DATE_FORMAT));
+
+        List<String> accepted = lines("accepted");
+        assertEquals(2, accepted.size());
+        assertTrue(accepted.get(0).startsWith("departureDate,"), "Header should be kept");
+        assertEquals("10/01/2030,syd,false,20/01/2030,mel,economy,2,1,0", accepted.get(1));
+        assertEquals(5, lines("rejected").size());
+        assertTrue(lines("counts").contains("11,\"Airports must be valid and different\",1"));
+    }
+
+    /**
+     * JSONL records are located by key in any order and unknown keys are ignored
+     */
+    @Test
+    void testJsonLines() throws IOException {
+        String log = "{\"departureDate\":\"10/01/2030\",\"departureAirportCode\":\"syd\",\"emergencyRowSeating\":false,"
+            + "\"returnDate\":\"20/01/2030\",\"destinationAirportCode\":\"mel\",\"seatingClass\":\"premium economy\","
+            + "\"adultPassengerCount\":2,\"childPassengerCount\":0,\"infantPassengerCount\":1}\n"
+            + "{ \"infantPassengerCount\": 0, \"childPassengerCount\": 3, \"adultPassengerCount\": 1, \"id\": 7,"
+            + " \"seatingClass\": \"economy\", \"destinationAirportCode\": \"mel\", \"returnDate\": \"20/01/2030\","
+            + " \"emergencyRowSeating\": false, \"departureAirportCode\": \"syd\", \"departureDate\": \"10/01/2030\" }\n"
+            + "{\"departureDate\":\"10/01/2030\"}\n"
+            + "{\"departureDate\":\"10\\/01\\/2030\",\"departureAirportCode\":\"syd\",\"emergencyRowSeating\":false,"
+            + "\"returnDate\":\"20/01/2030\",\"destinationAirportCode\":\"mel\",\"seatingClass\":\"economy\","
+            + "\"adultPassengerCount\":2,\"childPassengerCount\":0,\"infantPassengerCount\":0}\n";
+        SearchLogSummary summary = run(new SearchLogValidator(VALIDATOR), log, SearchLogValidator.Format.JSONL);
+
+        assertEquals(4, summary.records());
+        assertEquals(1, summary.accepted());
+        assertEquals(1, summary.rejected());
+        assertEquals(2, summary.malformed());
+        assertEquals(1, summary.rejections(SearchCondition.CHILD_ADULT_RATIO));
+    }
+
+    /**
+     * A buffer far smaller than the file gives the same result as validating each record directly,
+     * and lines longer than the buffer are reported as malformed
+     */
+    @Test
+    void testSmallBufferMatchesDirectValidation() throws IOException {
+        RandomSearches searches = new RandomSearches(12, new String[] {"syd", "mel", "lax", "xxx"},
+            new String[] {"economy", "premium economy", "business", "first", "invalid"});
+        StringBuilder log = new StringBuilder();
+        List<String> expectedAccepted = new ArrayList<>();
+        int expectedRejected = 0;
+
+        for (int i = 0; i < 2_000; i++) {
+            RandomSearches.Search search = searches.next();
+            String line = String.join(",", search.departureDate(), search.departureAirportCode(),
+                String.valueOf(search.emergencyRowSeating()), search.returnDate(), search.destinationAirportCode(),
+                search.seatingClass(), String.valueOf(search.adultPassengerCount()),
+                String.valueOf(search.childPassengerCount()), String.valueOf(search.infantPassengerCount()));
+            log.append(line).append('\n');
+            if (search.check(VALIDATOR) == 0) {
+                expectedAccepted.add(line);
+            } else {
+                expectedRejected++;
+            }
+            if (i % 500 == 0) {
+                log.append("x".repeat(200)).append('\n');
+            }
+        }
+        SearchLogSummary summary = run(new SearchLogValidator(VALIDATOR, 64), log.toString(), SearchLogValidator.Format.CSV);
+
+        assertEquals(2_004, summary.records());
+        assertEquals(expectedAccepted.size(), summary.accepted());
+        assertEquals(expectedRejected, summary.rejected());
+        assertEquals(4, summary.malformed());
+        assertEquals(expectedAccepted, lines("accepted"));
+        assertTrue(lines("rejected").contains("x".repeat(200)), "Oversized lines should be copied to the rejected output");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * JUnit 5 test class for per-condition metrics and the latency histogram
+ */
+public class SearchMetricsTest {
+
+    private static final SearchClock CLOCK = SearchClock.fixed(LocalDate.of(2030, 1, 1));
+
+    /**
+     * Each condition reached is counted once and the rejecting condition is attributed the rejection
+     */
+    @Test
+    void testCountsEvaluationsAndRejections() {
+        SearchMetrics metrics = new SearchMetrics();
+        FlightSearchValidator validator = new FlightSearchValidator(CLOCK).withMetrics(metrics);
+
+        assertNotNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 1, 0));
+        assertNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 10, 0, 0));
+        assertNull(validator.validate("10-01-2030", "syd", false, "20/01/2030", "mel", "economy", 2, 0, 0));
+
+        SearchMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.validations());
+        assertEquals(1, snapshot.accepted());
+        assertEquals(3, snapshot.evaluations(SearchCondition.PASSENGER_COUNT));
+        assertEquals(1, snapshot.rejections(SearchCondition.PASSENGER_COUNT));
+        assertEquals(2, snapshot.evaluations(SearchCondition.DATE_FORMAT));
+        assertEquals(1, snapshot.rejections(SearchCondition.DATE_FORMAT));
+        assertEquals(1, snapshot.evaluations(SearchCondition.DEPARTURE_DATE));
+        assertEquals(0, snapshot.rejections(SearchCondition.DEPARTURE_DATE), "A malformed date is a format failure");
+        assertEquals(1, snapshot.evaluations(SearchCondition.AIRPORTS));
+
+        long recorded = 0;
+        for (int bucket = 0; bucket < SearchMetrics.LATENCY_BUCKETS; bucket++) {
+            recorded += snapshot.latencyCount(bucket);
+        }
+        assertEquals(3, recorded);
+    }
+
+    /**
+     * Disabled metrics record nothing and the outcome is unchanged
+     */
+    @Test
+    void testSwitchedOff() {
+        SearchMetrics metrics = new SearchMetrics();
+        metrics.setEnabled(false);
+        FlightSearchValidator validator = new FlightSearchValidator(CLOCK).withMetrics(metrics);
+
+        assertNotNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 1, 0));
+        assertEquals(0, metrics.snapshot().validations());
+
+        metrics.setEnabled(true);
+        assertNotNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 1, 0));
+        assertEquals(1, metrics.snapshot().validations());
+    }
+
+    /**
+     * Instrumented validation accepts exactly what the fixed and adaptive chains accept
+     */
+    @Test
+    void testSameOutcomeAsUninstrumented() {
+        FlightSearchValidator plain = new FlightSearchValidator(CLOCK);
+        FlightSearchValidator instrumented = plain.withMetrics(new SearchMetrics());
+        FlightSearchValidator adaptive = plain.withAdaptiveRuleOrder(new AdaptiveRuleOrder(8)).withMetrics(new SearchMetrics());
+        RandomSearches searches = new RandomSearches(15);
+
+        for (int i = 0; i < 20_000; i++) {
+            RandomSearches.Search search = searches.next();
+            SearchCriteria expected = search.validate(plain);
+            assertEquals(expected, search.validate(instrumented), "Fixed order disagrees on search " + i);
+            assertEquals(expected, search.validate(adaptive), "Adaptive order disagrees on search " + i);
+        }
+
+        SearchMetrics.Snapshot snapshot = instrumented.metrics().snapshot();
+        long rejections = 0;
+        for (SearchCondition condition : SearchCondition.values()) {
+            rejections += snapshot.rejections(condition);
+        }
+        assertEquals(snapshot.validations() - snapshot.accepted(), rejections, "Each rejection is attributed once");
+    }
+
+    /**
+     * Latencies land in power-of-two buckets and percentiles report the bucket upper bound
+     */
+    @Test
+    void testLatencyHistogram() {
+        assertEquals(0, SearchMetrics.bucket(0));
+        assertEquals(1, SearchMetrics.bucket(1));
+        assertEquals(10, SearchMetrics.bucket(1023));
+        assertEquals(11, SearchMetrics.bucket(1024));
+
+        SearchMetrics metrics = new SearchMetrics();
+        for (int i = 0; i < 99; i++) {
+            metrics.recordValidation(true, 100);
+        }
+        metrics.recordValidation(false, 5_000);
+
+        SearchMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(127, snapshot.latencyPercentileNanos(50));
+        assertEquals(127, snapshot.latencyPercentileNanos(99));
+        assertEquals(5_000, snapshot.latencyPercentileNanos(100), "Capped at the observed maximum");
+        assertEquals(149, snapshot.meanLatencyNanos(), 1e-9);
+
+        Map<String, Number> exported = snapshot.toMap();
+        assertEquals(100L, exported.get("validations"));
+        assertEquals(99L, exported.get("accepted"));
+        assertEquals(5_000L, exported.get("latency.max"));
+        assertTrue(exported.containsKey("condition.11.rejections"));
+    }
+}
\ No newline at end of file
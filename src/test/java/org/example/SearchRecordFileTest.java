@@ -0,0 +1,100 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JUnit 5 test class for the binary search record writer and memory-mapped reader
+ */
+public class SearchRecordFileTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    @TempDir
+    Path dir;
+
+    private List<SearchCriteria> acceptedSearches(int count) {
+        return new RandomSearches(13, new String[] {"syd", "MEL", "lax", "cdg", "del", "pvg", "doh"},
+            new String[] {"economy", "Premium Economy", "business", "first"}).accepted(VALIDATOR, count);
+    }
+
+    private static void assertRecord(SearchCriteria expected, SearchRecordReader reader, long index) {
+        assertEquals(expected.departureEpochDay(), reader.departureDay(index));
+        assertEquals(expected.returnEpochDay(), reader.returnDay(index));
+        assertEquals(expected.departureAirportCode().toLowerCase(), Airports.unpack(reader.departureAirport(index)));
+        assertEquals(expected.destinationAirportCode().toLowerCase(), Airports.unpack(reader.destinationAirport(index)));
+        assertEquals(SeatingClass.id(expected.seatingClass()), reader.seatingClass(index));
+        assertEquals(expected.emergencyRowSeating(), reader.emergencyRowSeating(index));
+        assertEquals(expected.adultPassengerCount(), reader.adultPassengerCount(index));
+        assertEquals(expected.childPassengerCount(), reader.childPassengerCount(index));
+        assertEquals(expected.infantPassengerCount(), reader.infantPassengerCount(index));
+    }
+
+    /**
+     * Every accepted search reads back unchanged, including across buffer flushes and mapping segments
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        List<SearchCriteria> searches = acceptedSearches(10_000);
+        assertTrue(searches.size() > 4096, "Should cover more than one writer flush");
+        Path file = dir.resolve("searches.bin");
+        try (SearchRecordWriter writer = SearchRecordWriter.create(file)) {
+            for (SearchCriteria criteria : searches) {
+                writer.write(criteria);
+            }
+            assertEquals(searches.size(), writer.count());
+        }
+        assertEquals(SearchRecordWriter.HEADER_SIZE + (long) searches.size() * SearchRecordWriter.RECORD_SIZE, Files.size(file));
+
+        try (SearchRecordReader reader = SearchRecordReader.open(file);
+             SearchRecordReader segmented = SearchRecordReader.open(file, 10)) {
+            assertEquals(searches.size(), reader.count());
+            assertEquals(searches.size(), segmented.count());
+            for (int i = 0; i < searches.size(); i++) {
+                assertRecord(searches.get(i), reader, i);
+                assertRecord(searches.get(i), segmented, i);
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.departureDay(searches.size()));
+        }
+    }
+
+    /**
+     * An empty file has no records, and files without the header are refused
+     */
+    @Test
+    void testHeader() throws IOException {
+        Path empty = dir.resolve("empty.bin");
+        SearchRecordWriter.create(empty).close();
+        try (SearchRecordReader reader = SearchRecordReader.open(empty)) {
+            assertEquals(0, reader.count());
+        }
+
+        Path text = dir.resolve("searches.csv");
+        Files.writeString(text, "10/01/2030,syd,false,20/01/2030,mel,economy,2,1,0\n");
+        assertThrows(IOException.class, () -> SearchRecordReader.open(text));
+    }
+
+    /**
+     * Fields that do not fit the record layout are refused instead of being truncated
+     */
+    @Test
+    void testRejectsUnencodableFields() throws IOException {
+        try (SearchRecordWriter writer = SearchRecordWriter.create(dir.resolve("invalid.bin"))) {
+            int syd = Airports.pack("syd");
+            assertThrows(IllegalArgumentException.class,
+                () -> writer.write(0, -1, false, 0, syd, 0, 1, 0, 0));
+            assertThrows(IllegalArgumentException.class,
+                () -> writer.write(0, syd, false, 0, syd, SeatingClass.UNKNOWN, 1, 0, 0));
+            assertThrows(IllegalArgumentException.class,
+                () -> writer.write(0, syd, false, 0, syd, 0, 16, 0, 0));
+            assertEquals(0, writer.count());
+        }
+    }
+}
\ No newline at end of file
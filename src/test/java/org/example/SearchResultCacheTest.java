@@ -0,0 +1,133 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * JUnit 5 test class for the validation result cache
+ */
+public class SearchResultCacheTest {
+
+    private static final SearchClock CLOCK = SearchClock.fixed(LocalDate.of(2030, 1, 1));
+
+    /**
+     * Test clock whose time is set by the test
+     */
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /**
+     * Repeated searches are answered from the cache, accepted and rejected alike
+     */
+    @Test
+    void testRepeatedSearchesHit() {
+        SearchResultCache cache = new SearchResultCache(16);
+        FlightSearchValidator validator = new FlightSearchValidator(CLOCK).withResultCache(cache);
+
+        SearchCriteria first = validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 1, 0);
+        SearchCriteria second = validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 2, 1, 0);
+        assertNotNull(first);
+        assertSame(first, second, "Second search should return the cached criteria");
+
+        assertNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "syd", "economy", 2, 1, 0));
+        assertNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "syd", "economy", 2, 1, 0));
+
+        assertEquals(2, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    /**
+     * Caching never changes the outcome, even in a table small enough to evict constantly
+     */
+    @Test
+    void testSameOutcomeAsUncached() {
+        FlightSearchValidator uncached = new FlightSearchValidator(CLOCK);
+        SearchResultCache cache = new SearchResultCache(64);
+        FlightSearchValidator cached = uncached.withResultCache(cache);
+        RandomSearches searches = new RandomSearches(14);
+
+        for (int i = 0; i < 20_000; i++) {
+            RandomSearches.Search search = searches.next();
+            assertEquals(search.validate(uncached), search.validate(cached), "Cached validation disagrees on search " + i);
+        }
+        assertEquals(20_000, cache.hits() + cache.misses());
+        assertTrue(cache.hits() > 0, "Should have answered some searches from the cache");
+        assertEquals(64, cache.capacity());
+    }
+
+    /**
+     * A search accepted today is re-validated once the day rolls over
+     */
+    @Test
+    void testDayRolloverInvalidates() {
+        ManualClock time = new ManualClock(Instant.parse("2030-01-10T23:59:59Z"));
+        SearchResultCache cache = new SearchResultCache(16);
+        FlightSearchValidator validator = new FlightSearchValidator(new SearchClock(time)).withResultCache(cache);
+
+        assertNotNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0));
+        assertNotNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0));
+
+        time.now = time.now.plusSeconds(1);
+        assertNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0),
+            "Departure is in the past after midnight");
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    /**
+     * Results computed against an older airport snapshot are not served after a reload
+     */
+    @Test
+    void testAirportReloadInvalidates(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("airports.txt");
+        Files.writeString(file, "syd\nmel\n");
+        AirportRegistry registry = AirportRegistry.load(file);
+        FlightSearchValidator validator = new FlightSearchValidator(registry, CLOCK).withResultCache(new SearchResultCache(16));
+
+        assertNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "akl", "economy", 1, 0, 0));
+        Files.writeString(file, "syd\nmel\nakl\n");
+        registry.reload();
+        assertNotNull(validator.validate("10/01/2030", "syd", false, "20/01/2030", "akl", "economy", 1, 0, 0),
+            "Should see the reloaded airport list");
+    }
+
+    /**
+     * The capacity is rounded up to a power of two and must be positive
+     */
+    @Test
+    void testCapacity() {
+        assertEquals(1, new SearchResultCache(1).capacity());
+        assertEquals(1024, new SearchResultCache(1000).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new SearchResultCache(0));
+    }
+}
\ No newline at end of file
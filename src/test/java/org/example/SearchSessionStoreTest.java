@@ -0,0 +1,111 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * JUnit 5 test class for the off-heap session store
+ */
+public class SearchSessionStoreTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    /**
+     * A stored search comes back with the same fields in canonical form
+     */
+    @Test
+    void testPutAndGet() {
+        SearchSessionStore store = new SearchSessionStore(4);
+        SearchCriteria accepted = VALIDATOR.validate("10/01/2030", "SYD", true, "20/01/2030", "mel", "Economy", 2, 0, 0);
+
+        assertNull(store.get(42));
+        assertTrue(store.put(42, accepted));
+        SearchCriteria stored = store.get(42);
+        assertEquals(new SearchCriteria("10/01/2030", "syd", true, "20/01/2030", "mel", "economy", 2, 0, 0,
+            accepted.departureEpochDay(), accepted.returnEpochDay()), stored);
+
+        SearchCriteria family = VALIDATOR.validate("11/01/2030", "lax", false, "11/01/2030", "cdg", "premium economy", 2, 3, 1);
+        assertTrue(store.put(42, family), "Replacing a session needs no free slot");
+        assertEquals(family, store.get(42));
+        assertEquals(1, store.size());
+        assertEquals(SearchSessionStore.SLOT_SIZE, 32);
+    }
+
+    /**
+     * New sessions are refused once the capacity is reached, and evicting one frees a slot
+     */
+    @Test
+    void testBoundedCapacity() {
+        SearchSessionStore store = new SearchSessionStore(3);
+        SearchCriteria accepted = VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0);
+
+        for (long session = 1; session <= 3; session++) {
+            assertTrue(store.put(session, accepted));
+        }
+        assertFalse(store.put(4, accepted), "Should refuse a new session when full");
+        assertTrue(store.evict(2));
+        assertFalse(store.evict(2));
+        assertTrue(store.put(4, accepted));
+        assertTrue(store.contains(4));
+        assertFalse(store.contains(2));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertNull(store.get(1));
+        assertThrows(IllegalArgumentException.class, () -> new SearchSessionStore(0));
+    }
+
+    /**
+     * Random puts and evictions over colliding keys agree with a HashMap
+     */
+    @Test
+    void testMatchesHashMap() {
+        SearchSessionStore store = new SearchSessionStore(1_000);
+        Map<Long, SearchCriteria> expected = new HashMap<>();
+        SearchCriteria[] searches = {
+            VALIDATOR.validate("10/01/2030", "syd", false, "20/01/2030", "mel", "economy", 1, 0, 0),
+            VALIDATOR.validate("02/02/2030", "doh", false, "09/02/2030", "pvg", "first", 3, 0, 2),
+            VALIDATOR.validate("15/03/2031", "del", true, "15/03/2031", "lax", "economy", 4, 0, 0)
+        };
+        Random random = new Random(23);
+
+        for (int i = 0; i < 200_000; i++) {
+            long session = random.nextInt(1_200) * 0x1_0000_0000L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(session) != null, store.evict(session), "Evict disagrees at step " + i);
+            } else {
+                SearchCriteria search = searches[random.nextInt(searches.length)];
+                boolean stored = store.put(session, search);
+                assertEquals(expected.containsKey(session) || expected.size() < 1_000, stored, "Put disagrees at step " + i);
+                if (stored) {
+                    expected.put(session, search);
+                }
+            }
+            assertEquals(expected.size(), store.size());
+        }
+        for (long session = 0; session < 1_200; session++) {
+            assertEquals(expected.get(session * 0x1_0000_0000L), store.get(session * 0x1_0000_0000L));
+        }
+    }
+
+    /**
+     * Criteria that do not fit the slot layout are refused before anything is stored
+     */
+    @Test
+    void testRejectsUnencodableCriteria() {
+        SearchSessionStore store = new SearchSessionStore(2);
+        SearchCriteria unknownClass = new SearchCriteria("10/01/2030", "syd", false, "20/01/2030", "mel", "steerage",
+            1, 0, 0, 0, 0);
+        SearchCriteria longCode = new SearchCriteria("10/01/2030", "sydn", false, "20/01/2030", "mel", "economy",
+            1, 0, 0, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> store.put(1, unknownClass));
+        assertThrows(IllegalArgumentException.class, () -> store.put(1, longCode));
+        assertEquals(0, store.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit 5 test class for the precomputed valid search space
+ */
+public class SearchSpaceIndexTest {
+
+    private static final FlightSearchValidator VALIDATOR = new FlightSearchValidator(SearchClock.fixed(LocalDate.of(2030, 1, 1)));
+
+    /**
+     * The index enumerates exactly the searches runFlightSearch accepts over the cartesian product, in order
+     */
+    @Test
+    void testMatchesBruteForce() {
+        SearchSpaceIndex index = SearchSpaceIndex.build(VALIDATOR);
+        Airports airports = index.airports();
+        FlightSearch flightSearch = new FlightSearch(VALIDATOR);
+
+        List<String> expected = new ArrayList<>();
+        long[][] perOriginAndClass = new long[airports.count()][SeatingClass.count()];
+        for (int origin = 0; origin < airports.count(); origin++) {
+            for (int destination = 0; destination < airports.count(); destination++) {
+                for (int seatingClass = 0; seatingClass < SeatingClass.count(); seatingClass++) {
+                    for (int row = 0; row < 2; row++) {
+                        for (int adults = 0; adults <= 9; adults++) {
+                            for (int children = 0; children <= 9; children++) {
+                                for (int infants = 0; infants <= 9; infants++) {
+                                    if (flightSearch.runFlightSearch("10/01/2030", airports.code(origin), row == 1,
+                                            "20/01/2030", airports.code(destination), SeatingClass.fromId(seatingClass).label(),
+                                            adults, children, infants)) {
+                                        expected.add(origin + "," + destination + "," + seatingClass + "," + (row == 1)
+                                            + "," + adults + "," + children + "," + infants);
+                                        perOriginAndClass[origin][seatingClass]++;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<String> actual = new ArrayList<>();
+        index.forEach(SearchSpaceIndex.ANY, SearchSpaceIndex.ANY, SearchSpaceIndex.ANY,
+            (origin, destination, seatingClass, emergencyRow, adults, children, infants) ->
+                actual.add(origin + "," + destination + "," + seatingClass + "," + emergencyRow
+                    + "," + adults + "," + children + "," + infants));
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), index.size());
+
+        for (int origin = 0; origin < airports.count(); origin++) {
+            for (int seatingClass = 0; seatingClass < SeatingClass.count(); seatingClass++) {
+                assertEquals(perOriginAndClass[origin][seatingClass], index.count(origin, SearchSpaceIndex.ANY, seatingClass));
+            }
+        }
+    }
+
+    /**
+     * Queries narrow by origin, destination and class, and unknown ids match nothing
+     */
+    @Test
+    void testQueries() {
+        SearchSpaceIndex index = SearchSpaceIndex.build(VALIDATOR);
+        Airports airports = index.airports();
+        int syd = airports.id("syd");
+        int mel = airports.id("mel");
+        int business = SeatingClass.BUSINESS.ordinal();
+
+        int pairsFromSydney = airports.count() - 1;
+        assertEquals(pairsFromSydney, index.pairCount(syd, SearchSpaceIndex.ANY));
+        assertEquals(1, index.pairCount(syd, mel));
+        assertEquals(0, index.pairCount(syd, syd));
+        assertEquals(pairsFromSydney, index.pairCount(SearchSpaceIndex.ANY, syd));
+        assertEquals((long) pairsFromSydney * index.partyCount(business), index.count(syd, SearchSpaceIndex.ANY, business));
+
+        List<String> businessParties = new ArrayList<>();
+        index.forEach(syd, mel, business, (origin, destination, seatingClass, emergencyRow, adults, children, infants) -> {
+            assertEquals(business, seatingClass);
+            assertFalse(emergencyRow, "Emergency rows are economy only");
+            assertEquals(0, infants, "Infants cannot sit in business");
+            businessParties.add(adults + "," + children);
+        });
+        assertEquals(index.partyCount(business), businessParties.size());
+
+        assertEquals(0, index.count(Airports.UNKNOWN, mel, business));
+        assertEquals(0, index.count(syd, 1_000, SearchSpaceIndex.ANY));
+        assertEquals(0, index.count(syd, mel, SeatingClass.UNKNOWN));
+        assertEquals(0, index.pairCount(SearchSpaceIndex.ANY, Airports.UNKNOWN));
+    }
+
+    /**
+     * With a route index attached, only connected pairs are part of the search space
+     */
+    @Test
+    void testFollowsRouteIndex() {
+        Airports airports = Airports.defaults();
+        FlightSearchValidator routed = VALIDATOR.withRouteIndex(RouteIndex.of(airports, 0, "syd,mel", "mel,syd", "syd,lax"), 0);
+        SearchSpaceIndex index = SearchSpaceIndex.build(routed);
+
+        assertEquals(3, index.pairCount(SearchSpaceIndex.ANY, SearchSpaceIndex.ANY));
+        assertEquals(2, index.pairCount(airports.id("syd"), SearchSpaceIndex.ANY));
+        assertEquals(0, index.pairCount(airports.id("lax"), SearchSpaceIndex.ANY));
+        assertEquals(1, index.pairCount(SearchSpaceIndex.ANY, airports.id("syd")));
+        assertEquals(1, index.pairCount(SearchSpaceIndex.ANY, airports.id("lax")));
+        assertEquals(0, index.pairCount(airports.id("mel"), airports.id("lax")));
+
+        List<String> pairs = new ArrayList<>();
+        index.forEach(SearchSpaceIndex.ANY, airports.id("mel"), SeatingClass.FIRST.ordinal(),
+            (origin, destination, seatingClass, emergencyRow, adults, children, infants) -> pairs.add(origin + "," + destination));
+        assertEquals(index.partyCount(SeatingClass.FIRST.ordinal()), pairs.size());
+        assertTrue(pairs.stream().allMatch((airports.id("syd") + "," + airports.id("mel"))::equals));
+    }
+}
\ No newline at end of file